@@ -1,34 +1,39 @@
 package components;
 
 import components.bezier.ControlPoint;
-import components.bezier.CurveSegment;
+import components.bezier.CurveSettings;
+import components.bezier.CurveState;
+import components.bezier.CurveWorker;
+import components.bezier.GridIndex;
+import components.bezier.Phase;
 import components.bezier.Sample;
+import components.bezier.SampleSet;
+import components.bezier.events.ControlPointEditEvent;
 import util.PrintFormatting;
 
-import java.awt.geom.Point2D;
 import java.awt.Point;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.util.LinkedList;
 import java.util.Iterator;
-import java.util.function.Function;
+import java.util.LinkedList;
+import java.util.function.Consumer;
 
+import static components.Pane.PANE;
 import static main.Application.APP;
 import static main.Main.CONFIG;
 
 /**
- * Represents a Bezier Curve.
+ * Represents a Bezier Curve on the canvas.
+ * The curve itself is calculated by the {@link CurveWorker},
+ * which does not depend on any window.
+ * This class only handles the input and painting.
  *
  * @author 150009974
- * @version 3.2
+ * @version 4.11
  */
 public final class BezierCurve {
 
-    /** The number of points used to draw a poly line for the curve. */
-    private static final int NUMBER_OF_POINTS =
-            CONFIG.getAnyInt("curve number of points");
-
     /** The {@link Color} of the curve. */
     private static final Color CURVE_COLOR = CONFIG.getColor("curve");
 
@@ -45,14 +50,61 @@ public final class BezierCurve {
     /** The control points forming the curve. */
     private LinkedList<ControlPoint> controlPoints = new LinkedList<>();
 
-    /** The uniformly sampled points for tangent and curvature vectors. */
-    private LinkedList<Sample> samples = new LinkedList<>();
+    /** Finds the {@link ControlPoint} under a location. */
+    private final GridIndex<ControlPoint> controlPointIndex =
+            new GridIndex<>(ControlPoint.getRadius());
+
+    /** The amount of {@link Sample}s to make. */
+    private int numberOfSamples;
+
+    /** The settings the curve is calculated with. */
+    private final CurveSettings settings =
+            new CurveSettings(CONFIG, APP.getWidth());
+
+    /** Calculates the curve off the event dispatch thread. */
+    private final CurveWorker worker =
+            new CurveWorker(settings, this::publish);
+
+    /**
+     * The latest calculated state of the curve.
+     * It is replaced as a whole by the {@link BezierCurve#worker}.
+     */
+    private volatile CurveState state = worker.createEmptyState();
+
+    /** The state that is being painted. */
+    private CurveState painted = state;
+
+    /** The cached image of the {@link ControlPoint}s. */
+    private final RenderLayer controlPointLayer = new RenderLayer(
+            this::paintControlPoints, APP::controlPointsAreVisible);
 
-    /** The length of the curve. */
-    private double length;
+    /** The cached image of the ids of the {@link ControlPoint}s. */
+    private final RenderLayer controlPointIDLayer = new RenderLayer(
+            this::paintControlPointIDs, APP::controlPointsIDsAreVisible);
 
-    /** The segments between every two consecutive points. */
-    private LinkedList<CurveSegment> curveSegments = new LinkedList<>();
+    /** The cached image of the {@link Sample}s. */
+    private final RenderLayer sampleLayer = new RenderLayer(
+            g -> withPaintedSamples(samples -> Sample.paint(g, samples)),
+            APP::samplesAreVisible);
+
+    /** The cached image of the ids of the {@link Sample}s. */
+    private final RenderLayer sampleIDLayer = new RenderLayer(
+            g -> withPaintedSamples(samples -> Sample.paintIDs(g, samples)),
+            APP::sampleIDsAreVisible);
+
+    /** The cached image of the activated tangents. */
+    private final RenderLayer tangentLayer = new RenderLayer(
+            g -> withPaintedSamples(samples ->
+                    Sample.paintTangents(g, samples, settings)),
+            () -> true);
+
+    /** The cached image of the activated curvatures. */
+    private final RenderLayer curvatureLayer = new RenderLayer(
+            this::paintCurvatures, () -> true);
+
+    /** The cached image of the curve. */
+    private final RenderLayer curveLayer = new RenderLayer(
+            this::paintCurve, () -> !APP.segmentsAreInvisible());
 
     /** Hides the constructor, so that there can only be one curve. */
     private BezierCurve() {
@@ -83,11 +135,13 @@ public final class BezierCurve {
         if (left) {
             if (removeControlPoint(clicked)) {
                 APP.setMessage("Control Point removed.");
-                update();
+                update("remove");
             } else if (!toggleTangent(clicked)) {
-                controlPoints.add(new ControlPoint(clicked));
+                ControlPoint cp = new ControlPoint(clicked);
+                controlPoints.add(cp);
+                controlPointIndex.add(cp);
                 showDescriptiveMessage();
-                update();
+                update("add");
             }
         } else {
             if (!toggleCurvature(clicked)) {
@@ -123,20 +177,27 @@ public final class BezierCurve {
      * that {@link ControlPoint} is removed
      * from the list of {@link ControlPoint}s, and returns true.
      * Otherwise, just returns false.
+     * The {@link ControlPoint} is found in the list by identity,
+     * as it is in the index, since another one may be at the same location
+     * and so be equal to it.
      *
      * @param clicked the {@link Point} that the user clicked
      * @return true iff a {@link ControlPoint} was removed
      */
     private boolean removeControlPoint(final Point clicked) {
+        ControlPoint cp = getPressedControlPoint(clicked);
+        if (cp == null) {
+            return false;
+        }
         Iterator<ControlPoint> iterator = controlPoints.iterator();
         while (iterator.hasNext()) {
-            ControlPoint cp = iterator.next();
-            if (cp.contains(clicked)) {
+            if (iterator.next() == cp) {
                 iterator.remove();
-                return true;
+                break;
             }
         }
-        return false;
+        controlPointIndex.remove(cp);
+        return true;
     }
 
     /**
@@ -150,13 +211,13 @@ public final class BezierCurve {
      * @see Sample#toggleTangent()
      */
     private boolean toggleTangent(final Point clicked) {
-        for (Sample sample : samples) {
-            if (sample.contains(clicked)) {
-                sample.toggleTangent();
-                return true;
-            }
+        Sample sample = state.findSample(clicked);
+        if (sample == null) {
+            return false;
         }
-        return false;
+        sample.toggleTangent();
+        tangentLayer.invalidate();
+        return true;
     }
 
     /**
@@ -170,40 +231,51 @@ public final class BezierCurve {
      * @see Sample#toggleCurvature()
      */
     private boolean toggleCurvature(final Point clicked) {
-        for (Sample sample : samples) {
-            if (sample.contains(clicked)) {
-                sample.toggleCurvature();
-                return true;
-            }
+        Sample sample = state.findSample(clicked);
+        if (sample == null) {
+            return false;
         }
-        return false;
+        sample.toggleCurvature();
+        curvatureLayer.invalidate();
+        return true;
     }
 
-    /** Activates all tangents on the {@link Sample}s. */
+    /**
+     * Activates all tangents on the {@link Sample}s.
+     * Their derivatives are evaluated by the {@link BezierCurve#worker},
+     * after which only the tangents are redrawn.
+     */
     public void showTangents() {
-        samples.forEach(sample -> sample.setTangentActivated(true));
+        worker.setTangentsActivated(true, shown -> republish(tangentLayer));
     }
 
     /** Deactivates all tangents on the {@link Sample}s. */
     public void hideTangents() {
-        samples.forEach(sample -> sample.setTangentActivated(false));
+        worker.setTangentsActivated(false, shown -> republish(tangentLayer));
     }
 
-    /** Activates all curvatures on the {@link Sample}s. */
+    /**
+     * Activates all curvatures on the {@link Sample}s.
+     * Their derivatives are evaluated by the {@link BezierCurve#worker},
+     * after which only the curvatures are redrawn.
+     */
     public void showCurvatures() {
-        samples.forEach(sample -> sample.setCurvatureActivated(true));
+        worker.setCurvaturesActivated(true,
+                shown -> republish(curvatureLayer));
     }
 
     /** Deactivates all curvatures on the {@link Sample}s. */
     public void hideCurvatures() {
-        samples.forEach(sample -> sample.setCurvatureActivated(false));
+        worker.setCurvaturesActivated(false,
+                shown -> republish(curvatureLayer));
     }
 
     /** Removes all {@link ControlPoint} for this {@link BezierCurve}. */
     public void removeAllControlPoints() {
         controlPoints.clear();
+        controlPointIndex.clear();
         APP.setMessage("All Control Points were removed!");
-        update();
+        update("clear");
     }
 
     /**
@@ -213,83 +285,94 @@ public final class BezierCurve {
      * @param target the location to move the {@link Point} to
      */
     public void moveControlPoint(final ControlPoint cp, final Point target) {
+        double oldX = cp.getX();
+        double oldY = cp.getY();
         cp.setLocation(target);
-        update();
+        controlPointIndex.move(cp, oldX, oldY);
+        update("move");
     }
 
     /**
      * Updates the status of the curve. Specifically:
      * the curve segments, their total length, and the sample points.
+     * The {@link BezierCurve#worker} calculates them from
+     * a copy of the current {@link ControlPoint}s
+     * and publishes the result when it is done.
+     * The edit is recorded as a {@link ControlPointEditEvent}.
+     *
+     * @param edit the kind of edit that made the update necessary
      */
-    private void update() {
-        createCurve();
-        calculateLength();
-        sampleCurve(samples.size());
+    private void update(final String edit) {
+        ControlPointEditEvent event = new ControlPointEditEvent();
+        event.begin();
+        controlPointLayer.invalidate();
+        controlPointIDLayer.invalidate();
+        submit();
+        if (event.shouldCommit()) {
+            event.edit = edit;
+            event.controlPointCount = controlPoints.size();
+            event.sampleCount = numberOfSamples;
+            event.commit();
+        }
     }
 
     /**
-     * Finds the vector that is
-     * normal to the first derivative
-     * and in the direction of the second derivative.
-     * This happens by calculating the angle between the two and then
-     * returning the appropriate normal.
-     *
-     * @param firstDerivative the first derivative
-     * @param secondDerivative the second derivative
-     * @return the proper curvature vector
+     * Submits a copy of the current {@link ControlPoint}s
+     * to the {@link BezierCurve#worker}, with the switches of the
+     * tangents and curvatures as they are now.
+     * This is called on the event dispatch thread,
+     * so the worker never reads the switches itself.
      */
-    private static Point2D.Double determineCurvature(
-            final Point2D.Double firstDerivative,
-            final Point2D.Double secondDerivative) {
-        double tangentAngle;
-        double curvatureAngle;
-        tangentAngle = Math.atan2(firstDerivative.y, firstDerivative.x);
-        curvatureAngle = Math.atan2(secondDerivative.y, secondDerivative.x);
-        double theta = curvatureAngle - tangentAngle;
-        if (theta < 0) {
-            theta += Math.PI * 2;
-        }
-        if (theta <= Math.PI) {
-            return new Point2D.Double(-firstDerivative.y, firstDerivative.x);
-        } else {
-            return new Point2D.Double(firstDerivative.y, -firstDerivative.x);
+    private void submit() {
+        double[] x = new double[controlPoints.size()];
+        double[] y = new double[controlPoints.size()];
+        int i = 0;
+        for (ControlPoint cp : controlPoints) {
+            x[i] = cp.getX();
+            y[i] = cp.getY();
+            i++;
         }
+        worker.submit(x, y, numberOfSamples,
+                APP.tangentsAreVisible(), APP.curvaturesAreVisible());
     }
 
-    /** Calculate the length of the Bezier Curve that will be drawn. */
-    private void calculateLength() {
-        length = 0;
-        for (CurveSegment segment : curveSegments) {
-            length += segment.length();
-        }
+    /**
+     * Replaces the displayed state of the curve and repaints it.
+     * The {@link BezierCurve#worker} has already shown
+     * the tangents and curvatures of its {@link Sample}s as asked.
+     * This is called on the thread of the {@link BezierCurve#worker}.
+     *
+     * @param calculated the newly calculated state
+     */
+    private void publish(final CurveState calculated) {
+        state = calculated;
+        PANE.repaint();
     }
 
     /**
-     * Samples the curve uniformly,
-     * filling the {@link BezierCurve#samples} list.
+     * Redraws the given layer of the displayed state,
+     * after the {@link BezierCurve#worker} has changed
+     * which of its vectors are shown.
+     * The state itself is the same, so no other layer is redrawn.
+     * This is called on the thread of the {@link BezierCurve#worker}.
      *
-     * @param numberOfSamples the amount of {@link Sample}s to make
+     * @param layer the layer whose vectors have changed
      */
-    public void sampleCurve(final int numberOfSamples) {
-        samples.clear();
-        if (numberOfSamples < 1) {
-            return;
-        }
+    private void republish(final RenderLayer layer) {
+        layer.invalidate();
+        PANE.repaint();
+    }
 
-        // The distance between two consecutive samples.
-        double sampleDist = length / (numberOfSamples + 1d);
-        double distanceMoved = 0;
-        for (CurveSegment segment : curveSegments) {
-            distanceMoved += segment.length();
-            if (distanceMoved >= sampleDist) {
-                Sample sample = new Sample(segment, samples.size());
-                samples.add(sample);
-                distanceMoved -= sampleDist;
-                if (samples.size() == numberOfSamples) {
-                    break;
-                }
-            }
-        }
+    /**
+     * Samples the curve uniformly.
+     * The {@link Sample}s are placed at equal distances along the curve
+     * once the {@link BezierCurve#worker} has recalculated it.
+     *
+     * @param amount the amount of {@link Sample}s to make
+     */
+    public void sampleCurve(final int amount) {
+        numberOfSamples = amount;
+        update("resample");
     }
 
     /**
@@ -302,12 +385,7 @@ public final class BezierCurve {
      * or null if no {@link ControlPoint} is pressed
      */
     public ControlPoint getPressedControlPoint(final Point pressed) {
-        for (ControlPoint cp : controlPoints) {
-            if (cp.contains(pressed)) {
-                return cp;
-            }
-        }
-        return null;
+        return controlPointIndex.find(pressed, cp -> cp.contains(pressed));
     }
 
     /**
@@ -317,22 +395,41 @@ public final class BezierCurve {
      */
     @Override
     public String toString() {
+        CurveState current = state;
         return "BezierCurve{"
                 + "controlPoints=" + controlPoints + ","
-                + "samples=" + samples + ","
+                + "samples=" + current.getSampleSet() + ","
+                + "segments=" + current.getPolyline().getSegmentCount() + ","
                 + "}";
     }
 
     /**
      * Paints this {@link BezierCurve}
      * using the given {@link Graphics2D} object.
+     * Each part of the drawing is kept in its own {@link RenderLayer},
+     * which is only redrawn when the part changes.
+     * The time each part takes is recorded by its {@link Phase}.
      *
      * @param g the {@link Graphics2D} object to use
      */
     public void paint(final Graphics2D g) {
-        paintControlPoints(g);
-        paintSamplePoints(g);
-        paintCurve(g);
+        CurveState current = state;
+        painted = current;
+        int w = PANE.getWidth();
+        int h = PANE.getHeight();
+        long time = System.nanoTime();
+        controlPointLayer.paint(g, w, h, null);
+        controlPointIDLayer.paint(g, w, h, null);
+        time = Phase.PAINT_CONTROL_POINTS.stop(time);
+        sampleLayer.paint(g, w, h, current);
+        sampleIDLayer.paint(g, w, h, current);
+        time = Phase.PAINT_SAMPLES.stop(time);
+        tangentLayer.paint(g, w, h, current);
+        time = Phase.PAINT_TANGENTS.stop(time);
+        curvatureLayer.paint(g, w, h, current);
+        time = Phase.PAINT_CURVATURES.stop(time);
+        curveLayer.paint(g, w, h, current);
+        Phase.PAINT_CURVE.stop(time);
     }
 
     /**
@@ -342,143 +439,80 @@ public final class BezierCurve {
      * @param g the {@link Graphics2D} object to use
      */
     private void paintControlPoints(final Graphics2D g) {
-        int i = 0;
         for (ControlPoint controlPoint : controlPoints) {
-            controlPoint.paint(g, String.valueOf(i));
-            i++;
+            controlPoint.paint(g);
         }
     }
 
     /**
-     * Paints the {@link Sample}s on this {@link BezierCurve}
+     * Paints the ids of the {@link ControlPoint}s of this {@link BezierCurve}
      * using the given {@link Graphics2D} object.
      *
      * @param g the {@link Graphics2D} object to use
      */
-    private void paintSamplePoints(final Graphics2D g) {
-        if (controlPoints.size() < 2) {
-            return;
-        }
-        for (Sample sample : samples) {
-            sample.paint(g);
+    private void paintControlPointIDs(final Graphics2D g) {
+        int i = 0;
+        for (ControlPoint controlPoint : controlPoints) {
+            controlPoint.paintID(g, String.valueOf(i));
+            i++;
         }
     }
 
     /**
-     * Paints the curve of this {@link BezierCurve}
-     * using the given {@link Graphics2D} object.
+     * Applies the given action to
+     * the {@link Sample}s of the state that is being painted,
+     * unless there is no curve.
      *
-     * @param g the {@link Graphics2D} object to use
-     * @see BezierCurve#curveSegments
+     * @param action the action to apply
      */
-    private void paintCurve(final Graphics2D g) {
-        if (controlPoints.size() < 2) {
+    private void withPaintedSamples(final Consumer<SampleSet> action) {
+        if (painted.getControlPointCount() < 2) {
             return;
         }
-        if (APP.segmentsAreInvisible()) {
-            return;
-        }
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
-                RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setColor(CURVE_COLOR);
-        for (CurveSegment segment : curveSegments) {
-            g.draw(segment);
-        }
+        action.accept(painted.getSampleSet());
     }
 
     /**
-     * Calculates and returns a {@link Point2D.Double}
-     * on this {@link BezierCurve}.
-     * The parameter is a proportion from 0 to 1.
+     * Paints the activated curvatures of the state that is being painted
+     * using the given {@link Graphics2D} object.
+     * In a comb, their ends are joined by an outline.
      *
-     * @param u the proportion from 0 to 1
-     * @return the {@link Point2D.Double}
+     * @param g the {@link Graphics2D} object to use
      */
-    private Point2D.Double calculatePoint(final double u) {
-        return applyFormula(n -> i ->
-                Combinatorics.bernsteinCoefficient(n, i, u));
+    private void paintCurvatures(final Graphics2D g) {
+        withPaintedSamples(samples ->
+                Sample.paintCurvatures(g, samples, settings));
     }
 
     /**
-     * Creates the Bezier Curve that can be drawn on the screen.
-     * The curve is made up of {@link CurveSegment}s.
-     * Each segment connects two consecutive points.
+     * Paints the curve of the state that is being painted
+     * using the given {@link Graphics2D} object.
+     *
+     * @param g the {@link Graphics2D} object to use
      */
-    private void createCurve() {
-        if (controlPoints.size() < 2) {
+    private void paintCurve(final Graphics2D g) {
+        if (painted.getControlPointCount() < 2) {
             return;
         }
-        curveSegments.clear();
-        for (double i = 0; i < NUMBER_OF_POINTS; i++) {
-            double u1 = i / NUMBER_OF_POINTS;
-            Point2D.Double pu1 = calculatePoint(u1);
-            double u2 = (i + 1) / NUMBER_OF_POINTS;
-            Point2D.Double pu2 = calculatePoint(u2);
-            CurveSegment segment = new CurveSegment(pu1, pu2, u2);
-            curveSegments.add(segment);
-        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(CURVE_COLOR);
+        painted.getPolyline().paint(g);
     }
 
-    /**
-     * Calculates and returns the tangent vector
-     * from a point on this {@link BezierCurve}.
-     * This vector originates at the {@link Point2D.Double} from the same u.
-     * That is, tangent vector T originates at point P.
-     * The tangent line goes through points P and (P+T).
-     * The parameter is a proportion from 0 to 1.
-     *
-     * @param u the proportion from 0 to 1
-     * @return the tangent vector from the point at u
-     */
-    public Point2D.Double calculateTangent(final double u) {
-        return applyFormula(n -> i ->
-                Combinatorics.bernsteinDerivative(n, i, u));
+    /** @return the number of {@link ControlPoint}s */
+    public int getControlPointCount() {
+        return controlPoints.size();
     }
 
-    /**
-     * Calculates and returns the curvature vector
-     * from a point on this {@link BezierCurve}.
-     * This vector originates at the {@link Point2D.Double} from the same u.
-     * That is, curvature vector C originates at point P.
-     * The line goes through point P and (P+C).
-     * The parameter is a proportion from 0 to 1.
-     *
-     * @param u the proportion from 0 to 1
-     * @return the curvature vector from the point at u
-     */
-    public Point2D.Double calculateSecondDerivative(final double u) {
-        // Remember that curvature is in direction opposite of normal.
-        return applyFormula(n -> i ->
-                Combinatorics.bernsteinSecondDerivative(n, i, u));
+    /** @return the number of {@link Sample}s */
+    public int getSampleCount() {
+        return state.getSampleCount();
     }
 
-    /**
-     * Calculates and returns the point which is the result of
-     * applying the given formula to all {@link ControlPoint}s of
-     * this {@link BezierCurve}.
-     * It is expected that the function returns coefficients for a polynomial
-     * C0 * p0 + C1 * p1 + ... CN * pN
-     * where pI are the control points
-     * and CI are the coefficients returned by the {@link Function}.
-     * The function is supplied 2 arguments:
-     * n - the last index of the control points
-     * i - the index for which the coefficient should be returned.
-     *
-     * @param formula the formula to apply
-     * @return the resulting point
-     */
-    private Point2D.Double applyFormula(
-            final Function<Integer, Function<Integer, Double>> formula) {
-        Point2D.Double p = new Point2D.Double();
-        int n = controlPoints.size() - 1;
-        int i = 0;
-        for (ControlPoint cp : controlPoints) {
-            double coefficient = formula.apply(n).apply(i);
-            p.x += coefficient * cp.getX();
-            p.y += coefficient * cp.getY();
-            i++;
-        }
-        return p;
+    /** @return the number of segments in the poly line */
+    public int getSegmentCount() {
+        return state.getPolyline().getSegmentCount();
     }
 
 }
@@ -1,6 +1,8 @@
 package components;
 
 import components.bezier.ControlPoint;
+import components.bezier.Phase;
+import components.bezier.events.PaintEvent;
 
 import javax.swing.JPanel;
 import javax.swing.BorderFactory;
@@ -20,7 +22,7 @@ import static main.Application.APP;
  * The drawing area of the system.
  *
  * @author 150009974
- * @version 1.1
+ * @version 1.3
  */
 public final class Pane extends JPanel {
 
@@ -109,13 +111,29 @@ public final class Pane extends JPanel {
     /**
      * Overrides the default paint method, so that
      * the {@link BezierCurve#CURVE} is painted.
+     * The time it takes is recorded, also as a {@link PaintEvent},
+     * and the recent timings are shown over it if they are switched on.
      *
      * @param g the {@link Graphics} object to use for painting
      */
     @Override
     public void paint(final Graphics g) {
+        PaintEvent event = new PaintEvent();
+        event.begin();
+        long start = System.nanoTime();
         super.paint(g);
         CURVE.paint((Graphics2D) g);
+        Phase.PANE_PAINT.stop(start);
+        event.end();
+        if (event.shouldCommit()) {
+            event.controlPointCount = CURVE.getControlPointCount();
+            event.segmentCount = CURVE.getSegmentCount();
+            event.sampleCount = CURVE.getSampleCount();
+            event.commit();
+        }
+        if (APP.timingsAreVisible()) {
+            TimingOverlay.paint((Graphics2D) g);
+        }
     }
 
 }
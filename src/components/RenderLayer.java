@@ -0,0 +1,106 @@
+package components;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Represents one layer of a drawing, cached in its own image.
+ * The layer is only redrawn when its input changes or it is invalidated.
+ * Otherwise, painting it only copies the image,
+ * and painting a hidden layer costs nothing.
+ * A layer is painted on the event dispatch thread,
+ * but may be invalidated from any thread.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class RenderLayer {
+
+    /** Draws the contents of this layer. */
+    private final Consumer<Graphics2D> painter;
+
+    /** Tells whether this layer should be shown. */
+    private final BooleanSupplier visible;
+
+    /** The cached contents of this layer. */
+    private BufferedImage image;
+
+    /** The input that the cached contents were drawn from. */
+    private Object drawnInput;
+
+    /** Whether the cached contents must be redrawn. */
+    private volatile boolean invalid = true;
+
+    /**
+     * Creates a {@link RenderLayer} that is drawn by the given painter
+     * and is shown when the given condition is true.
+     *
+     * @param painter draws the contents of the layer
+     * @param visible tells whether the layer should be shown
+     */
+    public RenderLayer(final Consumer<Graphics2D> painter,
+                       final BooleanSupplier visible) {
+        this.painter = painter;
+        this.visible = visible;
+    }
+
+    /** Marks the cached contents of this layer as out of date. */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Paints this layer onto the given {@link Graphics2D} object,
+     * unless it is hidden.
+     * The cached contents are redrawn first if they are out of date,
+     * if the size has changed, or if the input is not the same object
+     * that they were drawn from.
+     *
+     * @param g      the {@link Graphics2D} object to use
+     * @param width  the width of the drawing area
+     * @param height the height of the drawing area
+     * @param input  the object the contents are drawn from, may be null
+     */
+    public void paint(final Graphics2D g, final int width, final int height,
+                      final Object input) {
+        if (!visible.getAsBoolean() || width <= 0 || height <= 0) {
+            return;
+        }
+        if (image == null || image.getWidth() != width
+                || image.getHeight() != height) {
+            image = g.getDeviceConfiguration().createCompatibleImage(
+                    width, height, Transparency.TRANSLUCENT);
+            invalid = true;
+        }
+        if (invalid || input != drawnInput) {
+            // Cleared first, so an invalidation during the redraw is kept.
+            invalid = false;
+            drawnInput = input;
+            redraw(g);
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    /**
+     * Clears the image and draws the contents of this layer again.
+     *
+     * @param target the {@link Graphics2D} object the layer is painted on
+     */
+    private void redraw(final Graphics2D target) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setFont(target.getFont());
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+}
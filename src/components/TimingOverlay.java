@@ -0,0 +1,76 @@
+package components;
+
+import components.bezier.Phase;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+
+import static main.Main.CONFIG;
+
+/**
+ * Paints the recent timings of each {@link Phase} over the canvas.
+ * A line is shown for every phase with its median,
+ * 99th percentile, and maximum time in microseconds.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public final class TimingOverlay {
+
+    /** The font the timings are written in. */
+    private static final Font FONT = CONFIG.getFont("timing overlay font");
+
+    /** The colour the timings are written in. */
+    private static final Color COLOR = CONFIG.getColor("timing overlay");
+
+    /** The distance, in pixels, of the text from the corner. */
+    private static final int MARGIN = 6;
+
+    /** The fractions of the durations that are shown. */
+    private static final double[] FRACTIONS = {0.5, 0.99, 1};
+
+    /** The number of nanoseconds in a microsecond. */
+    private static final double NANOS_PER_MICRO = 1e3;
+
+    /** The format of a line of the overlay. */
+    private static final String FORMAT = "%-21s %9s %9s %9s";
+
+    /** Hides the constructor for this utility class. */
+    private TimingOverlay() {
+    }
+
+    /**
+     * Paints the timings in the top left corner
+     * using the given {@link Graphics2D} object.
+     *
+     * @param g the {@link Graphics2D} object to use
+     */
+    public static void paint(final Graphics2D g) {
+        g.setFont(FONT);
+        g.setColor(COLOR);
+        FontMetrics metrics = g.getFontMetrics();
+        int y = MARGIN + metrics.getAscent();
+        g.drawString(String.format(FORMAT, "phase (us)", "p50", "p99", "max"),
+                MARGIN, y);
+        for (Phase phase : Phase.values()) {
+            y += metrics.getHeight();
+            long[] times = phase.getTimer().getPercentiles(FRACTIONS);
+            g.drawString(String.format(FORMAT, phase,
+                    format(times[0]), format(times[1]), format(times[2])),
+                    MARGIN, y);
+        }
+    }
+
+    /**
+     * Formats a duration in microseconds.
+     *
+     * @param nanos the duration, in nanoseconds
+     * @return the duration in microseconds, with one decimal place
+     */
+    private static String format(final long nanos) {
+        return String.format("%.1f", nanos / NANOS_PER_MICRO);
+    }
+
+}
@@ -0,0 +1,127 @@
+package components.bezier;
+
+/**
+ * Tessellates a Bezier Curve into a poly line
+ * whose points are placed where the curve needs them.
+ * The control polygon is split in half with De Casteljau's algorithm
+ * until every piece is flat, that is until all of its control points
+ * are within a tolerance of the line between its end points.
+ * Gentle curves need only a few points, tight loops get many more.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public final class AdaptiveTessellator {
+
+    /** The depth at which pieces are accepted even if they are not flat. */
+    private static final int MAX_DEPTH = 20;
+
+    /** The square of the distance within which a piece is flat. */
+    private final double toleranceSquared;
+
+    /** The poly line that points are added to. */
+    private Polyline output;
+
+    /**
+     * Creates an {@link AdaptiveTessellator} with the given tolerance.
+     *
+     * @param tolerance the distance, in pixels, within which a piece is flat
+     */
+    public AdaptiveTessellator(final double tolerance) {
+        toleranceSquared = tolerance * tolerance;
+    }
+
+    /**
+     * Tessellates the curve with the given control points
+     * into the given {@link Polyline}.
+     * The previous points of the {@link Polyline} are discarded.
+     *
+     * @param cx  the x coordinates of the control points
+     * @param cy  the y coordinates of the control points
+     * @param out the {@link Polyline} to fill
+     * @return the number of segments produced
+     */
+    public int tessellate(final double[] cx, final double[] cy,
+                          final Polyline out) {
+        out.clear();
+        if (cx.length == 0) {
+            return 0;
+        }
+        output = out;
+        out.add(cx[0], cy[0], 0);
+        subdivide(cx.clone(), cy.clone(), 0, 1, 0);
+        output = null;
+        return out.getSegmentCount();
+    }
+
+    /**
+     * Adds the end point of the given piece if it is flat,
+     * otherwise splits it in half and handles each half.
+     *
+     * @param cx    the x coordinates of the control points of the piece
+     * @param cy    the y coordinates of the control points of the piece
+     * @param u0    the value of u at the start of the piece
+     * @param u1    the value of u at the end of the piece
+     * @param depth the number of splits that led to this piece
+     */
+    private void subdivide(final double[] cx, final double[] cy,
+                           final double u0, final double u1,
+                           final int depth) {
+        int n = cx.length - 1;
+        if (depth >= MAX_DEPTH || isFlat(cx, cy)) {
+            output.add(cx[n], cy[n], u1);
+            return;
+        }
+
+        double[] leftX = new double[n + 1];
+        double[] leftY = new double[n + 1];
+        // After the loop, cx and cy hold the right half.
+        for (int r = 0; r <= n; r++) {
+            leftX[r] = cx[0];
+            leftY[r] = cy[0];
+            for (int i = 0; i < n - r; i++) {
+                cx[i] = (cx[i] + cx[i + 1]) / 2;
+                cy[i] = (cy[i] + cy[i + 1]) / 2;
+            }
+        }
+
+        double middle = (u0 + u1) / 2;
+        subdivide(leftX, leftY, u0, middle, depth + 1);
+        subdivide(cx, cy, middle, u1, depth + 1);
+    }
+
+    /**
+     * Tells whether every control point is within the tolerance
+     * of the line segment between the first and last control points.
+     * The curve lies in the convex hull of its control points,
+     * so it is then within the tolerance of that line segment too.
+     *
+     * @param cx the x coordinates of the control points
+     * @param cy the y coordinates of the control points
+     * @return true iff the piece can be drawn as a single segment
+     */
+    private boolean isFlat(final double[] cx, final double[] cy) {
+        int n = cx.length - 1;
+        double ax = cx[0];
+        double ay = cy[0];
+        double bx = cx[n] - ax;
+        double by = cy[n] - ay;
+        double chordSquared = bx * bx + by * by;
+        for (int i = 1; i < n; i++) {
+            double px = cx[i] - ax;
+            double py = cy[i] - ay;
+            double t = 0;
+            if (chordSquared > 0) {
+                t = (px * bx + py * by) / chordSquared;
+                t = Math.max(0, Math.min(1, t));
+            }
+            double ex = px - t * bx;
+            double ey = py - t * by;
+            if (ex * ex + ey * ey > toleranceSquared) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,306 @@
+package components.bezier;
+
+import java.util.Arrays;
+
+/**
+ * Measures distances along a Bezier Curve.
+ * The speed |P'(u)| is integrated with Gauss-Legendre quadrature
+ * over evenly spaced intervals of u, giving a table of cumulative lengths.
+ * A distance s along the curve is mapped back to u by
+ * a binary search in that table followed by Newton's method.
+ * The speeds are evaluated in batches into buffers of this object,
+ * so measuring allocates nothing per point
+ * and an {@link ArcLength} must only be used by one thread.
+ * The derivatives at the nodes are kept,
+ * so that when one control point moves, the curve can be measured again
+ * from a copy without evaluating it at every node.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public final class ArcLength {
+
+    /** The nodes of 5-point Gauss-Legendre quadrature on [-1, 1]. */
+    private static final double[] NODES = {
+        -0.9061798459386640, -0.5384693101056831, 0,
+        0.5384693101056831, 0.9061798459386640,
+    };
+
+    /** The weights of 5-point Gauss-Legendre quadrature on [-1, 1]. */
+    private static final double[] WEIGHTS = {
+        0.2369268850561891, 0.4786286704993665, 0.5688888888888889,
+        0.4786286704993665, 0.2369268850561891,
+    };
+
+    /** The maximum number of Newton steps when inverting a distance. */
+    private static final int MAX_NEWTON_STEPS = 16;
+
+    /** Evaluates the derivative of the measured curve. */
+    private final CurveEvaluator evaluator;
+
+    /** The number of intervals that [0, 1] is split into. */
+    private final int intervals;
+
+    /** The largest acceptable error, in pixels, of an inverted distance. */
+    private final double tolerance;
+
+    /** The length of the curve from u = 0 to u = i / intervals. */
+    private double[] cumulative;
+
+    /** The values of u at the nodes of every interval, in order. */
+    private final double[] us;
+
+    /** The x components of the first derivative at {@link #us}. */
+    private final double[] derivativeXs;
+
+    /** The y components of the first derivative at {@link #us}. */
+    private final double[] derivativeYs;
+
+    /** The values of u at the quadrature nodes of an interval. */
+    private final double[] nodeUs = new double[NODES.length];
+
+    /** The x components of the first derivative at the nodes. */
+    private final double[] nodeX = new double[NODES.length];
+
+    /** The y components of the first derivative at the nodes. */
+    private final double[] nodeY = new double[NODES.length];
+
+    /** The value of u at which a single speed is evaluated. */
+    private final double[] singleU = new double[1];
+
+    /** The x component of the first derivative at a single u. */
+    private final double[] singleX = new double[1];
+
+    /** The y component of the first derivative at a single u. */
+    private final double[] singleY = new double[1];
+
+    /**
+     * Creates an {@link ArcLength} for the curve of the given evaluator.
+     * {@link ArcLength#update()} must be called
+     * every time the control points of the evaluator change.
+     *
+     * @param evaluator the evaluator of the curve to measure
+     * @param intervals the number of intervals that [0, 1] is split into
+     * @param tolerance the largest acceptable error of an inverted distance
+     */
+    public ArcLength(final CurveEvaluator evaluator, final int intervals,
+                     final double tolerance) {
+        this.evaluator = evaluator;
+        this.intervals = intervals;
+        this.tolerance = tolerance;
+        cumulative = new double[intervals + 1];
+        int nodes = NODES.length;
+        double half = 0.5 / intervals;
+        us = new double[intervals * nodes];
+        for (int i = 0; i < intervals; i++) {
+            double middle = (i + 0.5) / intervals;
+            for (int j = 0; j < nodes; j++) {
+                us[i * nodes + j] = middle + half * NODES[j];
+            }
+        }
+        derivativeXs = new double[us.length];
+        derivativeYs = new double[us.length];
+    }
+
+    /**
+     * Creates a copy of the given {@link ArcLength}
+     * for the curve of another evaluator,
+     * which must differ from the measured curve by one control point.
+     * The copy has the same lengths until
+     * {@link ArcLength#update(int, int)} or
+     * {@link ArcLength#shift(int, double, double)} is called on it.
+     *
+     * @param previous  the measure of the curve before the change
+     * @param evaluator the evaluator of the changed curve
+     */
+    public ArcLength(final ArcLength previous,
+                     final CurveEvaluator evaluator) {
+        this.evaluator = evaluator;
+        intervals = previous.intervals;
+        tolerance = previous.tolerance;
+        cumulative = previous.cumulative;
+        us = previous.us;
+        derivativeXs = previous.derivativeXs.clone();
+        derivativeYs = previous.derivativeYs.clone();
+    }
+
+    /**
+     * Rebuilds the table of cumulative lengths.
+     *
+     * @return the length of the whole curve
+     */
+    public double update() {
+        // The nodes of all intervals are evaluated in a single batch.
+        evaluator.evaluateTangents(us, derivativeXs, derivativeYs);
+        return accumulate();
+    }
+
+    /**
+     * Evaluates the derivatives in the given intervals again
+     * and rebuilds the table of cumulative lengths.
+     * The derivatives in the other intervals are kept,
+     * so only the intervals that a change affects need to be given.
+     *
+     * @param from the first interval to evaluate
+     * @param to   the interval after the last one to evaluate
+     * @return the length of the whole curve
+     */
+    public double update(final int from, final int to) {
+        int nodes = NODES.length;
+        double[] range = Arrays.copyOfRange(us, from * nodes, to * nodes);
+        double[] x = new double[range.length];
+        double[] y = new double[range.length];
+        evaluator.evaluateTangents(range, x, y);
+        System.arraycopy(x, 0, derivativeXs, from * nodes, x.length);
+        System.arraycopy(y, 0, derivativeYs, from * nodes, y.length);
+        return accumulate();
+    }
+
+    /**
+     * Moves one control point of the measured Bezier Curve
+     * and rebuilds the table of cumulative lengths.
+     * Moving control point i by (dx, dy) changes the derivative at u
+     * by B'(i, u) * (dx, dy), where
+     * B'(i, u) = n * (B(n - 1, i - 1, u) - B(n - 1, i, u)),
+     * so the cost of that does not depend on the number of control points.
+     * The evaluator must already be of the moved curve.
+     *
+     * @param i  the index of the control point that moved
+     * @param dx how far it moved along x
+     * @param dy how far it moved along y
+     * @return the length of the whole curve
+     */
+    public double shift(final int i, final double dx, final double dy) {
+        int n = evaluator.getDegree();
+        for (int k = 0; k < us.length; k++) {
+            double u = us[k];
+            double w = n * (Combinatorics.bernsteinCoefficient(n - 1, i - 1, u)
+                    - Combinatorics.bernsteinCoefficient(n - 1, i, u));
+            derivativeXs[k] += w * dx;
+            derivativeYs[k] += w * dy;
+        }
+        return accumulate();
+    }
+
+    /**
+     * Rebuilds the table of cumulative lengths
+     * from the derivatives at the nodes.
+     *
+     * @return the length of the whole curve
+     */
+    private double accumulate() {
+        int nodes = NODES.length;
+        double half = 0.5 / intervals;
+        double[] x = derivativeXs;
+        double[] y = derivativeYs;
+        double[] table = new double[intervals + 1];
+        for (int i = 0; i < intervals; i++) {
+            double sum = 0;
+            for (int j = 0; j < nodes; j++) {
+                int k = i * nodes + j;
+                sum += WEIGHTS[j] * Math.sqrt(x[k] * x[k] + y[k] * y[k]);
+            }
+            table[i + 1] = table[i] + sum * half;
+        }
+        cumulative = table;
+        return getLength();
+    }
+
+    /** @return the number of intervals that [0, 1] is split into */
+    public int getIntervals() {
+        return intervals;
+    }
+
+    /** @return the length of the whole curve */
+    public double getLength() {
+        return cumulative[intervals];
+    }
+
+    /**
+     * Finds the value of u at which
+     * the length of the curve from u = 0 is the given distance.
+     *
+     * @param s the distance along the curve
+     * @return the value of u at that distance
+     */
+    public double parameterAt(final double s) {
+        double[] table = cumulative;
+        double total = table[intervals];
+        if (total <= 0 || s <= 0) {
+            return 0;
+        }
+        if (s >= total) {
+            return 1;
+        }
+
+        // Find the interval i with table[i] <= s < table[i + 1].
+        int low = 0;
+        int high = intervals;
+        while (high - low > 1) {
+            int middle = (low + high) >>> 1;
+            if (table[middle] <= s) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+
+        double u0 = (double) low / intervals;
+        double u1 = (double) high / intervals;
+        double span = table[high] - table[low];
+        double u = u0;
+        if (span > 0) {
+            u += (u1 - u0) * (s - table[low]) / span;
+        }
+        for (int step = 0; step < MAX_NEWTON_STEPS; step++) {
+            double error = table[low] + integrate(u0, u) - s;
+            if (Math.abs(error) <= tolerance) {
+                break;
+            }
+            double speed = speed(u);
+            if (speed == 0) {
+                break;
+            }
+            u = Math.max(u0, Math.min(u1, u - error / speed));
+        }
+        return u;
+    }
+
+    /**
+     * Integrates the speed of the curve from a to b.
+     *
+     * @param a the lower bound of u
+     * @param b the upper bound of u
+     * @return the length of the curve between a and b
+     */
+    private double integrate(final double a, final double b) {
+        double half = (b - a) / 2;
+        double middle = (a + b) / 2;
+        for (int i = 0; i < NODES.length; i++) {
+            nodeUs[i] = middle + half * NODES[i];
+        }
+        evaluator.evaluateTangents(nodeUs, nodeX, nodeY);
+        double sum = 0;
+        for (int i = 0; i < NODES.length; i++) {
+            double x = nodeX[i];
+            double y = nodeY[i];
+            sum += WEIGHTS[i] * Math.sqrt(x * x + y * y);
+        }
+        return sum * half;
+    }
+
+    /**
+     * Calculates the speed |P'(u)| of the curve.
+     *
+     * @param u the proportion from 0 to 1
+     * @return the magnitude of the first derivative at u
+     */
+    private double speed(final double u) {
+        singleU[0] = u;
+        evaluator.evaluateTangents(singleU, singleX, singleY);
+        double x = singleX[0];
+        double y = singleY[0];
+        return Math.sqrt(x * x + y * y);
+    }
+
+}
@@ -0,0 +1,239 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Evaluates a uniform cubic B-Spline over the control points.
+ * The curve is made of cubic spans, each defined by
+ * only 4 consecutive control points,
+ * so moving a control point changes at most 4 spans
+ * and evaluating a point costs the same however many control points there are.
+ * The first and last control points are repeated twice more,
+ * so that the curve starts and ends on them like a Bezier Curve does.
+ * The spans share the range of u evenly.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public class BSplineEvaluator implements CurveEvaluator {
+
+    /** The number of control points that define a span. */
+    private static final int SPAN_POINTS = 4;
+
+    /** The degree of every span. */
+    public static final int DEGREE = SPAN_POINTS - 1;
+
+    /** How many times the first and last control points are repeated. */
+    private static final int PADDING = 2;
+
+    /** The x coordinates of the control points, with the repeats. */
+    private double[] xs = new double[0];
+
+    /** The y coordinates of the control points, with the repeats. */
+    private double[] ys = new double[0];
+
+    /** The number of spans. */
+    private int spans;
+
+    @Override
+    public void setControlPoints(final double[] x, final double[] y) {
+        int n = x.length;
+        if (n == 0) {
+            xs = new double[0];
+            ys = new double[0];
+            spans = 0;
+            return;
+        }
+        double[] px = new double[n + PADDING * 2];
+        double[] py = new double[n + PADDING * 2];
+        for (int i = 0; i < px.length; i++) {
+            int from = Math.min(Math.max(i - PADDING, 0), n - 1);
+            px[i] = x[from];
+            py[i] = y[from];
+        }
+        xs = px;
+        ys = py;
+        spans = px.length - SPAN_POINTS + 1;
+    }
+
+    @Override
+    public int getSpanCount() {
+        return spans;
+    }
+
+    @Override
+    public int getDegree() {
+        return DEGREE;
+    }
+
+    /**
+     * Returns the first span that the given control point affects.
+     *
+     * @param i the index of the control point
+     * @return the index of the first span it affects
+     */
+    public int getFirstSpan(final int i) {
+        return Math.max(i + PADDING - SPAN_POINTS + 1, 0);
+    }
+
+    /**
+     * Returns the last span that the given control point affects.
+     *
+     * @param i the index of the control point
+     * @return the index of the last span it affects
+     */
+    public int getLastSpan(final int i) {
+        return Math.min(i + PADDING, spans - 1);
+    }
+
+    @Override
+    public Point2D.Double calculatePoint(final double u) {
+        return evaluate(u, 0);
+    }
+
+    @Override
+    public Point2D.Double calculateTangent(final double u) {
+        return evaluate(u, 1);
+    }
+
+    @Override
+    public Point2D.Double calculateSecondDerivative(final double u) {
+        return evaluate(u, 2);
+    }
+
+    @Override
+    public void evaluate(final double[] us, final double[] outX,
+                         final double[] outY) {
+        for (int k = 0; k < us.length; k++) {
+            evaluate(us[k], 0, outX, outY, k);
+        }
+    }
+
+    @Override
+    public void evaluateTangents(final double[] us, final double[] outX,
+                                 final double[] outY) {
+        for (int k = 0; k < us.length; k++) {
+            evaluate(us[k], 1, outX, outY, k);
+        }
+    }
+
+    @Override
+    public void evaluateSecondDerivatives(final double[] us,
+                                          final double[] outX,
+                                          final double[] outY) {
+        for (int k = 0; k < us.length; k++) {
+            evaluate(us[k], 2, outX, outY, k);
+        }
+    }
+
+    /**
+     * Calculates the points of one span at evenly spaced values of u.
+     * Point j of the span is written to index span * points + j
+     * of the output arrays, for j from 0 to points,
+     * so consecutive spans share their end points.
+     *
+     * @param span   the index of the span
+     * @param points the number of intervals the span is split into
+     * @param outX   receives the x coordinates of the points
+     * @param outY   receives the y coordinates of the points
+     * @param outU   receives the values of u at the points
+     */
+    public void tessellateSpan(final int span, final int points,
+                               final double[] outX, final double[] outY,
+                               final double[] outU) {
+        double x0 = xs[span];
+        double x1 = xs[span + 1];
+        double x2 = xs[span + 2];
+        double x3 = xs[span + 3];
+        double y0 = ys[span];
+        double y1 = ys[span + 1];
+        double y2 = ys[span + 2];
+        double y3 = ys[span + 3];
+        int offset = span * points;
+        for (int j = 0; j <= points; j++) {
+            double t = (double) j / points;
+            double s = 1 - t;
+            double t2 = t * t;
+            double t3 = t2 * t;
+            double b0 = s * s * s / 6;
+            double b1 = (3 * t3 - 6 * t2 + 4) / 6;
+            double b2 = (-3 * t3 + 3 * t2 + 3 * t + 1) / 6;
+            double b3 = t3 / 6;
+            outX[offset + j] = b0 * x0 + b1 * x1 + b2 * x2 + b3 * x3;
+            outY[offset + j] = b0 * y0 + b1 * y1 + b2 * y2 + b3 * y3;
+            outU[offset + j] = (span + t) / spans;
+        }
+    }
+
+    /**
+     * Calculates the point or a derivative of the curve at the given u.
+     *
+     * @param u     the proportion from 0 to 1
+     * @param order 0 for the point, 1 or 2 for the derivative of that order
+     * @return the point or derivative at u
+     */
+    private Point2D.Double evaluate(final double u, final int order) {
+        double[] x = new double[1];
+        double[] y = new double[1];
+        evaluate(u, order, x, y, 0);
+        return new Point2D.Double(x[0], y[0]);
+    }
+
+    /**
+     * Calculates the point or a derivative of the curve at the given u
+     * into the given arrays.
+     * The derivatives with respect to u are those within the span
+     * multiplied by the number of spans, once for each order.
+     *
+     * @param u     the proportion from 0 to 1
+     * @param order 0 for the point, 1 or 2 for the derivative of that order
+     * @param outX  receives the x coordinate
+     * @param outY  receives the y coordinate
+     * @param index the index in the arrays to write to
+     */
+    private void evaluate(final double u, final int order,
+                          final double[] outX, final double[] outY,
+                          final int index) {
+        if (spans == 0) {
+            outX[index] = 0;
+            outY[index] = 0;
+            return;
+        }
+        double scaled = Math.min(Math.max(u, 0), 1) * spans;
+        int span = Math.min((int) scaled, spans - 1);
+        double t = scaled - span;
+        double s = 1 - t;
+        double b0;
+        double b1;
+        double b2;
+        double b3;
+        double scale = 1;
+        switch (order) {
+            case 0:
+                b0 = s * s * s / 6;
+                b1 = (3 * t * t * t - 6 * t * t + 4) / 6;
+                b2 = (-3 * t * t * t + 3 * t * t + 3 * t + 1) / 6;
+                b3 = t * t * t / 6;
+                break;
+            case 1:
+                b0 = -s * s / 2;
+                b1 = (3 * t * t - 4 * t) / 2;
+                b2 = (-3 * t * t + 2 * t + 1) / 2;
+                b3 = t * t / 2;
+                scale = spans;
+                break;
+            default:
+                b0 = s;
+                b1 = 3 * t - 2;
+                b2 = 1 - 3 * t;
+                b3 = t;
+                scale = (double) spans * spans;
+                break;
+        }
+        outX[index] = scale * (b0 * xs[span] + b1 * xs[span + 1]
+                + b2 * xs[span + 2] + b3 * xs[span + 3]);
+        outY[index] = scale * (b0 * ys[span] + b1 * ys[span + 1]
+                + b2 * ys[span + 2] + b3 * ys[span + 3]);
+    }
+
+}
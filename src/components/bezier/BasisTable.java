@@ -0,0 +1,185 @@
+package components.bezier;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stores the Bernstein Coefficients of a given degree
+ * at evenly spaced values of u from 0 to 1.
+ * The coefficients depend only on the degree and the resolution,
+ * so the same table serves every curve with that many control points.
+ * With the table, tessellating a curve is a matrix-vector product
+ * over the control point coordinates.
+ * The most recently used tables are cached,
+ * so that curves of a few different degrees can share them,
+ * even from several threads at once.
+ *
+ * @author 150009974
+ * @version 1.4
+ */
+public final class BasisTable {
+
+    /** The number of tables that are cached. */
+    private static final int CACHE_SIZE = 8;
+
+    /**
+     * The cached tables, by degree and resolution,
+     * from the least to the most recently used.
+     */
+    private static final Map<Long, BasisTable> CACHE =
+            new LinkedHashMap<>(CACHE_SIZE * 2, 0.75f, true);
+
+    /** The number of requests served by a cached table. */
+    private static long hits;
+
+    /** The number of requests that calculated a new table. */
+    private static long misses;
+
+    /** The degree of the Bernstein Coefficients. */
+    private final int degree;
+
+    /** The number of intervals that [0, 1] is split into. */
+    private final int resolution;
+
+    /**
+     * The coefficients, one row per value of u.
+     * The coefficient of control point i at u = row / resolution
+     * is at index row * (degree + 1) + i.
+     */
+    private final double[] weights;
+
+    /**
+     * Calculates a table of the given degree and resolution.
+     *
+     * @param degree     the degree of the Bernstein Coefficients
+     * @param resolution the number of intervals that [0, 1] is split into
+     */
+    private BasisTable(final int degree, final int resolution) {
+        this.degree = degree;
+        this.resolution = resolution;
+        int width = degree + 1;
+        weights = new double[(resolution + 1) * width];
+        double[] basis = new double[width];
+        for (int row = 0; row <= resolution; row++) {
+            double u = (double) row / resolution;
+            Combinatorics.bernsteinBasis(degree, u, basis);
+            System.arraycopy(basis, 0, weights, row * width, width);
+        }
+    }
+
+    /**
+     * Returns a table of the given degree and resolution.
+     * A cached table is reused if there is one.
+     * Otherwise, the table is calculated without holding the lock
+     * of the cache, so other threads can still use it meanwhile.
+     *
+     * @param degree     the degree of the Bernstein Coefficients
+     * @param resolution the number of intervals that [0, 1] is split into
+     * @return the table for that degree and resolution
+     */
+    public static BasisTable get(final int degree, final int resolution) {
+        Long key = ((long) degree << Integer.SIZE) | resolution;
+        synchronized (CACHE) {
+            BasisTable table = CACHE.get(key);
+            if (table != null) {
+                hits++;
+                return table;
+            }
+            misses++;
+        }
+        BasisTable table = new BasisTable(degree, resolution);
+        synchronized (CACHE) {
+            // Another thread may have calculated the same table meanwhile.
+            BasisTable other = CACHE.putIfAbsent(key, table);
+            if (other != null) {
+                return other;
+            }
+            if (CACHE.size() > CACHE_SIZE) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+            return table;
+        }
+    }
+
+    /** @return the number of requests served by a cached table */
+    public static long getHits() {
+        synchronized (CACHE) {
+            return hits;
+        }
+    }
+
+    /** @return the number of requests that calculated a new table */
+    public static long getMisses() {
+        synchronized (CACHE) {
+            return misses;
+        }
+    }
+
+    /** @return the degree of the Bernstein Coefficients */
+    public int getDegree() {
+        return degree;
+    }
+
+    /** @return the number of intervals that [0, 1] is split into */
+    public int getResolution() {
+        return resolution;
+    }
+
+    /**
+     * Returns the coefficient of a control point at a value of u.
+     *
+     * @param row the index of u, that is u = row / resolution
+     * @param i   the index of the control point
+     * @return the Bernstein Coefficient of degree, i, and u
+     */
+    public double weight(final int row, final int i) {
+        return weights[row * (degree + 1) + i];
+    }
+
+    /**
+     * Calculates the points of a curve at every value of u in this table.
+     * The control coordinates must have (degree + 1) elements
+     * and the outputs (resolution + 1) elements.
+     *
+     * @param cx   the x coordinates of the control points
+     * @param cy   the y coordinates of the control points
+     * @param outX receives the x coordinates of the points
+     * @param outY receives the y coordinates of the points
+     */
+    public void tessellate(final double[] cx, final double[] cy,
+                           final double[] outX, final double[] outY) {
+        tessellate(cx, cy, outX, outY, 0, resolution + 1);
+    }
+
+    /**
+     * Calculates the points of a curve at the values of u
+     * in the given rows of this table.
+     * Other rows of the outputs are not touched,
+     * so separate rows can be calculated in parallel.
+     *
+     * @param cx   the x coordinates of the control points
+     * @param cy   the y coordinates of the control points
+     * @param outX receives the x coordinates of the points
+     * @param outY receives the y coordinates of the points
+     * @param from the first row
+     * @param to   one past the last row
+     */
+    public void tessellate(final double[] cx, final double[] cy,
+                           final double[] outX, final double[] outY,
+                           final int from, final int to) {
+        int width = degree + 1;
+        for (int row = from; row < to; row++) {
+            int offset = row * width;
+            double x = 0;
+            double y = 0;
+            for (int i = 0; i < width; i++) {
+                double w = weights[offset + i];
+                x += w * cx[i];
+                y += w * cy[i];
+            }
+            outX[row] = x;
+            outY[row] = y;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package components.bezier;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Evaluates a Bezier Curve directly from the Bernstein Polynomial.
+ * The coefficients for a value of u are calculated all at once
+ * by {@link Combinatorics#bernsteinBasis(int, double, double[])},
+ * which stays accurate for curves with hundreds of control points.
+ *
+ * @author 150009974
+ * @version 1.3
+ */
+public class BernsteinEvaluator extends HodographEvaluator {
+
+    @Override
+    protected void evaluate(final double[] x, final double[] y,
+                            final double[] us,
+                            final double[] outX, final double[] outY) {
+        int n = x.length - 1;
+        double[] b = new double[x.length];
+        IntToDoubleFunction coefficient = i -> b[i];
+        for (int k = 0; k < us.length; k++) {
+            Combinatorics.bernsteinBasis(n, us[k], b);
+            outX[k] = applyFormula(x, coefficient);
+            outY[k] = applyFormula(y, coefficient);
+        }
+    }
+
+    /**
+     * Calculates and returns the coordinate which is the result of
+     * applying the given formula to all control coordinates.
+     * It is expected that the function returns coefficients for a polynomial
+     * C0 * p0 + C1 * p1 + ... CN * pN
+     * where pI are the control coordinates
+     * and CI are the coefficients returned by the function
+     * for the index i.
+     *
+     * @param c       the control coordinates
+     * @param formula the formula to apply
+     * @return the resulting coordinate
+     */
+    private static double applyFormula(final double[] c,
+                                       final IntToDoubleFunction formula) {
+        double sum = 0;
+        for (int i = 0; i < c.length; i++) {
+            sum += formula.applyAsDouble(i) * c[i];
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,210 @@
+package components.bezier;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects statistics of the calculations of the curve,
+ * so that they can be watched with JMX tools.
+ * The {@link CurveCalculator} records every calculation of a state,
+ * and the statistics are read through the {@link BezierEngineMBean}.
+ * Allocated bytes are measured on the calculating thread only,
+ * so work split onto other threads is not included,
+ * and they are reported as 0 on a JVM that cannot measure them.
+ * The statistics are kept in atomic counters,
+ * so that calculations on many threads do not wait for each other.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public final class BezierEngine implements BezierEngineMBean {
+
+    /** The statistics of the curve engine. */
+    public static final BezierEngine ENGINE = new BezierEngine();
+
+    /** The name the engine is registered with. */
+    public static final String OBJECT_NAME =
+            "components.bezier:type=BezierEngine";
+
+    /**
+     * The thread bean, which measures allocated bytes,
+     * or null if the JVM cannot measure them.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            findThreadBean();
+
+    /** The number of times the curve has been calculated. */
+    private final LongAdder recomputeCount = new LongAdder();
+
+    /** The time, in nanoseconds, of the last tessellation. */
+    private volatile long lastTessellationNanos;
+
+    /** The total time, in nanoseconds, of all tessellations. */
+    private final LongAdder totalTessellationNanos = new LongAdder();
+
+    /** The number of segments in the last poly line. */
+    private volatile int segmentCount;
+
+    /** The number of samples on the last curve. */
+    private volatile int sampleCount;
+
+    /** The number of control points of the last curve. */
+    private volatile int controlPointCount;
+
+    /** The degree of the last curve, or of its spans. */
+    private volatile int curveDegree;
+
+    /** The number of poly lines made from the last poly line. */
+    private final LongAdder polylineCacheHits = new LongAdder();
+
+    /** The number of poly lines calculated from scratch. */
+    private final LongAdder polylineCacheMisses = new LongAdder();
+
+    /** The bytes allocated by the last calculation. */
+    private volatile long lastAllocatedBytes;
+
+    /** The bytes allocated by all calculations. */
+    private final LongAdder totalAllocatedBytes = new LongAdder();
+
+    /** Hides the constructor, so that there is only one engine. */
+    private BezierEngine() {
+    }
+
+    /**
+     * Finds the thread bean of the JVM,
+     * if it can measure the bytes allocated by a thread.
+     * Only the HotSpot extension of the bean can do that.
+     *
+     * @return the thread bean, or null if it cannot measure allocations
+     */
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported()) {
+                return threads;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far,
+     * or 0 if the JVM cannot measure them,
+     * to be passed to {@link BezierEngine#record}
+     */
+    static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Records a calculation of a state.
+     * This may be called from several threads at once without blocking,
+     * so the "last" statistics are those of whichever was recorded last.
+     *
+     * @param state            the calculated state
+     * @param degree           the degree of the curve, or of its spans
+     * @param tessellation     the time, in nanoseconds, of the tessellation
+     * @param polylineReused   whether the last poly line was reused
+     * @param allocatedAtStart the bytes allocated by the thread
+     *                         when the calculation started
+     */
+    void record(final CurveState state, final int degree,
+                final long tessellation, final boolean polylineReused,
+                final long allocatedAtStart) {
+        recomputeCount.increment();
+        lastTessellationNanos = tessellation;
+        totalTessellationNanos.add(tessellation);
+        segmentCount = state.getPolyline().getSegmentCount();
+        sampleCount = state.getSampleCount();
+        controlPointCount = state.getControlPointCount();
+        curveDegree = degree;
+        if (polylineReused) {
+            polylineCacheHits.increment();
+        } else {
+            polylineCacheMisses.increment();
+        }
+        long allocated = allocatedBytes() - allocatedAtStart;
+        lastAllocatedBytes = allocated;
+        totalAllocatedBytes.add(allocated);
+    }
+
+    /**
+     * Divides a total by the number of calculations.
+     *
+     * @param total the total of a statistic over all calculations
+     * @return the average of the statistic, or 0 if there were none
+     */
+    private double average(final LongAdder total) {
+        long count = recomputeCount.sum();
+        return count == 0 ? 0 : (double) total.sum() / count;
+    }
+
+    @Override
+    public long getRecomputeCount() {
+        return recomputeCount.sum();
+    }
+
+    @Override
+    public long getLastTessellationNanos() {
+        return lastTessellationNanos;
+    }
+
+    @Override
+    public double getAverageTessellationNanos() {
+        return average(totalTessellationNanos);
+    }
+
+    @Override
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public int getSampleCount() {
+        return sampleCount;
+    }
+
+    @Override
+    public int getControlPointCount() {
+        return controlPointCount;
+    }
+
+    @Override
+    public int getCurveDegree() {
+        return curveDegree;
+    }
+
+    @Override
+    public long getBasisTableHits() {
+        return BasisTable.getHits();
+    }
+
+    @Override
+    public long getBasisTableMisses() {
+        return BasisTable.getMisses();
+    }
+
+    @Override
+    public long getPolylineCacheHits() {
+        return polylineCacheHits.sum();
+    }
+
+    @Override
+    public long getPolylineCacheMisses() {
+        return polylineCacheMisses.sum();
+    }
+
+    @Override
+    public long getLastAllocatedBytes() {
+        return lastAllocatedBytes;
+    }
+
+    @Override
+    public double getAverageAllocatedBytes() {
+        return average(totalAllocatedBytes);
+    }
+
+}
@@ -0,0 +1,51 @@
+package components.bezier;
+
+/**
+ * The management interface of the {@link BezierEngine},
+ * through which its statistics are read with JMX tools.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public interface BezierEngineMBean {
+
+    /** @return the number of times the curve has been calculated */
+    long getRecomputeCount();
+
+    /** @return the time, in nanoseconds, of the last tessellation */
+    long getLastTessellationNanos();
+
+    /** @return the average time, in nanoseconds, of a tessellation */
+    double getAverageTessellationNanos();
+
+    /** @return the number of segments in the last poly line */
+    int getSegmentCount();
+
+    /** @return the number of samples on the last curve */
+    int getSampleCount();
+
+    /** @return the number of control points of the last curve */
+    int getControlPointCount();
+
+    /** @return the degree of the last curve, or of its spans */
+    int getCurveDegree();
+
+    /** @return the number of times a cached {@link BasisTable} was used */
+    long getBasisTableHits();
+
+    /** @return the number of times a {@link BasisTable} was calculated */
+    long getBasisTableMisses();
+
+    /** @return the number of poly lines made from the last poly line */
+    long getPolylineCacheHits();
+
+    /** @return the number of poly lines calculated from scratch */
+    long getPolylineCacheMisses();
+
+    /** @return the bytes allocated by the last calculation */
+    long getLastAllocatedBytes();
+
+    /** @return the average bytes allocated by a calculation */
+    double getAverageAllocatedBytes();
+
+}
@@ -0,0 +1,202 @@
+package components.bezier;
+
+import java.util.Arrays;
+
+/**
+ * Provides methods to calculate combinatorics formulas.
+ * Binomial coefficients of low degree come from a cached Pascal's triangle.
+ * Those of higher degree are calculated in log-space,
+ * so that curves with hundreds of control points do not overflow.
+ *
+ * @author 150009974
+ * @version 1.4
+ */
+public final class Combinatorics {
+
+    /** The number of rows of Pascal's triangle that are cached. */
+    private static final int PASCAL_ROWS = 256;
+
+    /** The cached rows of Pascal's triangle. */
+    private static final double[][] PASCAL = new double[PASCAL_ROWS][];
+
+    /** The cached values of ln(k!), grown as needed. */
+    private static double[] logFactorials = {0, 0};
+
+    static {
+        PASCAL[0] = new double[] {1};
+        for (int n = 1; n < PASCAL_ROWS; n++) {
+            PASCAL[n] = new double[n + 1];
+            PASCAL[n][0] = 1;
+            PASCAL[n][n] = 1;
+            for (int k = 1; k < n; k++) {
+                PASCAL[n][k] = PASCAL[n - 1][k - 1] + PASCAL[n - 1][k];
+            }
+        }
+    }
+
+    /** Hides the constructor for this utility class. */
+    private Combinatorics() {
+    }
+
+    /**
+     * Calculates and returns the N-choose-K operation.
+     * The combination of K elements from a sample of N.
+     *
+     * @param n the total amount of elements N
+     * @param k the chosen amount of elements K
+     * @return number of combinations in which K elements can be chosen from N
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public static long nChooseK(final int n, final int k) {
+        long total = 1;
+        int above = n;
+        int lower = Math.min(k, n - k);
+        for (int i = 0; i < lower; i++) {
+            // total * above / (i + 1) is whole, so reduce before multiplying.
+            long divisor = i + 1;
+            long gcd = gcd(total, divisor);
+            total = Math.multiplyExact(total / gcd,
+                    above / (divisor / gcd));
+            above--;
+        }
+        return total;
+    }
+
+    /**
+     * Calculates the greatest common divisor of two positive numbers.
+     *
+     * @param a the first number
+     * @param b the second number
+     * @return the greatest common divisor of a and b
+     */
+    private static long gcd(final long a, final long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            long r = x % y;
+            x = y;
+            y = r;
+        }
+        return x;
+    }
+
+    /**
+     * Calculates and returns the N-choose-K operation as a double.
+     * Unlike {@link Combinatorics#nChooseK(int, int)},
+     * this does not overflow until the result exceeds the range of a double.
+     *
+     * @param n the total amount of elements N
+     * @param k the chosen amount of elements K
+     * @return number of combinations in which K elements can be chosen from N
+     */
+    public static double binomial(final int n, final int k) {
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        if (n < PASCAL_ROWS) {
+            return PASCAL[n][k];
+        }
+        return Math.exp(logBinomial(n, k));
+    }
+
+    /**
+     * Calculates and returns the natural logarithm of N-choose-K.
+     *
+     * @param n the total amount of elements N
+     * @param k the chosen amount of elements K, from 0 to N
+     * @return ln(N-choose-K)
+     */
+    public static double logBinomial(final int n, final int k) {
+        double[] table = logFactorials(n);
+        return table[n] - table[k] - table[n - k];
+    }
+
+    /**
+     * Returns a table of ln(k!) that has at least n + 1 elements.
+     *
+     * @param n the largest k that is needed
+     * @return the table of ln(k!)
+     */
+    private static synchronized double[] logFactorials(final int n) {
+        if (logFactorials.length <= n) {
+            int old = logFactorials.length;
+            double[] table = Arrays.copyOf(logFactorials,
+                    Math.max(n + 1, old * 2));
+            for (int k = old; k < table.length; k++) {
+                table[k] = table[k - 1] + Math.log(k);
+            }
+            logFactorials = table;
+        }
+        return logFactorials;
+    }
+
+    /**
+     * Calculates and returns the Bernstein Coefficient
+     * of the given degree for the given index and value.
+     *
+     * @param n the degree of the Bernstein Coefficient
+     * @param i the index in the Bernstein Polynomial
+     * @param u the value for the Bernstein Coefficient
+     * @return the nth degree Bernstein Coefficient for index i and value u
+     */
+    public static double bernsteinCoefficient(final int n,
+                                              final int i,
+                                              final double u) {
+        if (i < 0 || i > n) {
+            return 0;
+        }
+        if (u <= 0) {
+            return i == 0 ? 1 : 0;
+        }
+        if (u >= 1) {
+            return i == n ? 1 : 0;
+        }
+        if (n < PASCAL_ROWS) {
+            double ui = Math.pow(u, i);
+            double u1ni = Math.pow(1 - u, n - i);
+            return PASCAL[n][i] * ui * u1ni;
+        }
+        return Math.exp(logBinomial(n, i)
+                + i * Math.log(u) + (n - i) * Math.log1p(-u));
+    }
+
+    /**
+     * Calculates all Bernstein Coefficients of the given degree
+     * for the given value at once.
+     * The largest coefficient is calculated in log-space
+     * and the others from it with the ratio
+     * B(n, i + 1, u) / B(n, i, u) = (n - i) / (i + 1) * u / (1 - u),
+     * so the cost is linear in the degree
+     * and coefficients that are too small to matter underflow to 0.
+     *
+     * @param n   the degree of the Bernstein Coefficients
+     * @param u   the value for the Bernstein Coefficients
+     * @param out receives the coefficients, must have at least n + 1 elements
+     */
+    public static void bernsteinBasis(final int n, final double u,
+                                      final double[] out) {
+        if (n < 0) {
+            return;
+        }
+        Arrays.fill(out, 0, n + 1, 0);
+        if (u <= 0) {
+            out[0] = 1;
+            return;
+        }
+        if (u >= 1) {
+            out[n] = 1;
+            return;
+        }
+
+        int mode = Math.min(n, (int) ((n + 1) * u));
+        out[mode] = Math.exp(logBinomial(n, mode)
+                + mode * Math.log(u) + (n - mode) * Math.log1p(-u));
+        double ratio = u / (1 - u);
+        for (int i = mode; i < n; i++) {
+            out[i + 1] = out[i] * ratio * (n - i) / (i + 1);
+        }
+        for (int i = mode; i > 0; i--) {
+            out[i - 1] = out[i] / ratio * i / (n - i + 1);
+        }
+    }
+}
@@ -4,14 +4,13 @@ import java.awt.Point;
 import java.awt.Color;
 import java.awt.Graphics2D;
 
-import static main.Application.APP;
 import static main.Main.CONFIG;
 
 /**
  * Represents a control point for a {@link components.BezierCurve}.
  *
  * @author 150009974
- * @version 1.2
+ * @version 1.3
  */
 public class ControlPoint extends Point {
 
@@ -32,6 +31,11 @@ public class ControlPoint extends Point {
         super(p);
     }
 
+    /** @return the radius of the control points */
+    public static int getRadius() {
+        return RADIUS;
+    }
+
     /**
      * Tells whether the specified {@link Point}
      * is in this {@link ControlPoint}.
@@ -64,21 +68,26 @@ public class ControlPoint extends Point {
      * Paints this {@link ControlPoint}
      * using the given {@link Graphics2D} object.
      *
+     * @param g the {@link Graphics2D} object to use
+     */
+    public void paint(final Graphics2D g) {
+        g.setColor(COLOR);
+        int diameter = RADIUS * 2;
+        g.fillOval(this.x - RADIUS, this.y - RADIUS, diameter, diameter);
+    }
+
+    /**
+     * Paints the id of this {@link ControlPoint} next to it
+     * using the given {@link Graphics2D} object.
+     *
      * @param g  the {@link Graphics2D} object to use
      * @param id the id to draw next to the point
      */
-    public void paint(final Graphics2D g, final String id) {
+    public void paintID(final Graphics2D g, final String id) {
         g.setColor(COLOR);
         int arcX = this.x - RADIUS;
         int arcY = this.y - RADIUS;
-        int diameter = RADIUS * 2;
-
-        if (APP.controlPointsAreVisible()) {
-            g.fillOval(arcX, arcY, diameter, diameter);
-        }
-        if (APP.controlPointsIDsAreVisible()) {
-            g.drawString(id, arcX + diameter, (float) arcY);
-        }
+        g.drawString(id, arcX + RADIUS * 2, (float) arcY);
     }
 
 }
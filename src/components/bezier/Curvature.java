@@ -0,0 +1,71 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Calculates the curvature of a curve from its first two derivatives.
+ * With r' = (x', y') and r'' = (x'', y''),
+ * the signed curvature is (x' * y'' - y' * x'') / |r'|^3.
+ * Its sign tells which side of the tangent the curve bends to,
+ * so no angles have to be compared.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public final class Curvature {
+
+    /** Hides the constructor for this utility class. */
+    private Curvature() {
+    }
+
+    /**
+     * Calculates the signed curvature.
+     * It is positive where the curve turns counter-clockwise
+     * in the coordinates of u, that is towards (-y', x').
+     * Where the first derivative is 0, the curvature is not defined
+     * and 0 is returned.
+     *
+     * @param first  the first derivative
+     * @param second the second derivative
+     * @return the signed curvature, the reciprocal of the signed radius
+     */
+    public static double signed(final Point2D first, final Point2D second) {
+        return signed(first.getX(), first.getY(),
+                second.getX(), second.getY());
+    }
+
+    /**
+     * Calculates the signed curvature from the components of the derivatives.
+     *
+     * @param x1 the x component of the first derivative
+     * @param y1 the y component of the first derivative
+     * @param x2 the x component of the second derivative
+     * @param y2 the y component of the second derivative
+     * @return the signed curvature, the reciprocal of the signed radius
+     * @see Curvature#signed(Point2D, Point2D)
+     */
+    public static double signed(final double x1, final double y1,
+                                final double x2, final double y2) {
+        double speed = Math.sqrt(x1 * x1 + y1 * y1);
+        if (speed == 0) {
+            return 0;
+        }
+        return (x1 * y2 - y1 * x2) / (speed * speed * speed);
+    }
+
+    /**
+     * Tells which way the normal (-y', x') has to point
+     * to be on the side the curve bends to,
+     * that is towards the centre of curvature.
+     * It does when the curvature is positive, otherwise it is reversed.
+     *
+     * @param signed the signed curvature
+     * @return 1 if the normal (-y', x') points towards the centre,
+     * or -1 if it points away from it
+     * @see Curvature#signed(double, double, double, double)
+     */
+    public static double normalSide(final double signed) {
+        return signed < 0 ? -1 : 1;
+    }
+
+}
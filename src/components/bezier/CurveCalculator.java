@@ -0,0 +1,407 @@
+package components.bezier;
+
+import components.bezier.events.SamplingEvent;
+import components.bezier.events.TessellationEvent;
+
+/**
+ * Calculates curves on the calling thread.
+ * The last calculated {@link CurveState} is kept,
+ * so that when a single control point moves
+ * only the part of the poly line it affects is calculated again.
+ * The arc length of the curve is measured again from the last one too,
+ * without evaluating the whole curve.
+ * The samples are placed again from scratch,
+ * since they are at equal distances along the curve
+ * and all of them move when its length changes.
+ * The phases of each calculation are timed by the {@link Phase}s,
+ * its statistics are recorded by the {@link BezierEngine},
+ * and it is recorded as Java Flight Recorder events.
+ * A {@link CurveCalculator} must only be used by one thread at a time.
+ *
+ * @author 150009974
+ * @version 1.7
+ */
+public final class CurveCalculator {
+
+    /**
+     * The number of consecutive moves applied as deltas,
+     * after which the curve is recalculated from scratch
+     * to discard accumulated rounding errors.
+     */
+    private static final int DELTA_REFRESH_INTERVAL = 64;
+
+    /** Returned when the control points are the same as before. */
+    private static final int NO_CHANGE = -2;
+
+    /** Returned when more than one control point changed. */
+    private static final int MANY_CHANGES = -1;
+
+    /** The settings the curve is calculated with. */
+    private final CurveSettings settings;
+
+    /** Tessellates the curve when the settings ask for it. */
+    private final AdaptiveTessellator tessellator;
+
+    /** The last calculated state. */
+    private CurveState last;
+
+    /** The number of moves applied as deltas since the last full update. */
+    private int deltaUpdates;
+
+    /** Whether the last poly line was made from the one before it. */
+    private boolean polylineReused;
+
+    /**
+     * The measure of the last curve,
+     * null if it had fewer than 2 control points.
+     */
+    private ArcLength lastArcLength;
+
+    /**
+     * The only control point that the last poly line was updated for,
+     * {@link CurveCalculator#NO_CHANGE},
+     * or {@link CurveCalculator#MANY_CHANGES}
+     * if the poly line was calculated from scratch.
+     */
+    private int change = MANY_CHANGES;
+
+    /** How far the only changed control point moved along x. */
+    private double changeX;
+
+    /** How far the only changed control point moved along y. */
+    private double changeY;
+
+    /**
+     * Creates a {@link CurveCalculator} with the given settings.
+     *
+     * @param settings the settings the curve is calculated with
+     */
+    public CurveCalculator(final CurveSettings settings) {
+        this.settings = settings;
+        tessellator = new AdaptiveTessellator(settings.getFlatnessTolerance());
+        last = createEmptyState();
+    }
+
+    /** @return a state for a curve without control points */
+    public CurveState createEmptyState() {
+        double[] none = new double[0];
+        CurveEvaluator evaluator = settings.createEvaluator();
+        evaluator.setControlPoints(none, none);
+        return new CurveState(none, none, evaluator, new Polyline(),
+                new SampleSet());
+    }
+
+    /**
+     * Calculates the curve with the given control points
+     * and keeps the result for the next calculation.
+     * The arrays must not be modified afterwards.
+     *
+     * @param x               the x coordinates of the control points
+     * @param y               the y coordinates of the control points
+     * @param numberOfSamples the amount of {@link Sample}s to make
+     * @return the resulting state
+     */
+    public CurveState calculate(final double[] x, final double[] y,
+                                final int numberOfSamples) {
+        long allocated = BezierEngine.allocatedBytes();
+        TessellationEvent tessellationEvent = new TessellationEvent();
+        tessellationEvent.begin();
+        long start = System.nanoTime();
+        CurveEvaluator serial = createEvaluator(x, y);
+        Polyline polyline = tessellate(x, y, serial);
+        long time = Phase.CREATE_CURVE.stop(start);
+        long tessellation = time - start;
+        tessellationEvent.end();
+
+        SamplingEvent samplingEvent = new SamplingEvent();
+        samplingEvent.begin();
+        CurveEvaluator evaluator =
+                new ParallelEvaluator(serial, settings.getRange());
+        SampleSet sampleSet = new SampleSet();
+        if (x.length >= 2 && polyline == last.getPolyline()
+                && numberOfSamples == last.getSampleCount()) {
+            // The curve has not changed, so neither have its samples,
+            // and the derivatives evaluated for them are kept.
+            sampleSet = last.getSampleSet();
+        } else if (x.length >= 2) {
+            ArcLength arcLength = remeasure(serial, evaluator);
+            time = Phase.CALCULATE_LENGTH.stop(time);
+            sampleSet = new SampleSet(evaluator, arcLength, numberOfSamples);
+        } else {
+            lastArcLength = null;
+        }
+        Phase.SAMPLE_CURVE.stop(time);
+        samplingEvent.end();
+
+        last = new CurveState(x, y, evaluator, polyline, sampleSet);
+        Phase.UPDATE.stop(start);
+        int degree = serial.getDegree();
+        BezierEngine.ENGINE.record(last, degree, tessellation,
+                polylineReused, allocated);
+        if (tessellationEvent.shouldCommit()) {
+            tessellationEvent.degree = degree;
+            tessellationEvent.controlPointCount = x.length;
+            tessellationEvent.resolution = polyline.getPointCount();
+            tessellationEvent.reused = polylineReused;
+            tessellationEvent.commit();
+        }
+        if (samplingEvent.shouldCommit()) {
+            samplingEvent.degree = degree;
+            samplingEvent.sampleCount = sampleSet.getCount();
+            samplingEvent.length = sampleSet.getLength();
+            samplingEvent.commit();
+        }
+        return last;
+    }
+
+    /**
+     * Creates the evaluator of the configured kind for a curve.
+     *
+     * @param x the x coordinates of the control points
+     * @param y the y coordinates of the control points
+     * @return an evaluator of the curve
+     */
+    public CurveEvaluator createEvaluator(final double[] x,
+                                          final double[] y) {
+        CurveEvaluator evaluator = settings.createEvaluator();
+        evaluator.setControlPoints(x, y);
+        return evaluator;
+    }
+
+    /**
+     * Creates the poly line of a curve.
+     * Parts of the last calculated state may be reused,
+     * but the poly line is not kept for the next calculation.
+     *
+     * @param x         the x coordinates of the control points
+     * @param y         the y coordinates of the control points
+     * @param evaluator the evaluator of the curve
+     * @return the poly line of the curve
+     */
+    public Polyline tessellate(final double[] x, final double[] y,
+                               final CurveEvaluator evaluator) {
+        polylineReused = false;
+        change = MANY_CHANGES;
+        if (evaluator instanceof BSplineEvaluator) {
+            return createSpline(x, y, (BSplineEvaluator) evaluator);
+        }
+        return createCurve(x, y);
+    }
+
+    /**
+     * Measures a curve and samples it uniformly.
+     * The curve must have at least 2 control points.
+     *
+     * @param evaluator       the evaluator of the curve
+     * @param numberOfSamples the amount of samples to make
+     * @return the samples
+     */
+    public SampleSet sample(final CurveEvaluator evaluator,
+                            final int numberOfSamples) {
+        return new SampleSet(evaluator, measure(evaluator), numberOfSamples);
+    }
+
+    /**
+     * Measures the arc length of the curve that was just tessellated.
+     * If its poly line was updated for a single control point,
+     * the last measure is copied and updated for that control point:
+     * only the spans it affects are evaluated for a B-Spline,
+     * and the derivatives are shifted by it for a Bezier Curve.
+     * Otherwise, the curve is measured from scratch.
+     * The curve must have at least 2 control points.
+     *
+     * @param serial    the evaluator the curve was tessellated with
+     * @param evaluator the evaluator to measure the curve with
+     * @return the measured arc length
+     */
+    private ArcLength remeasure(final CurveEvaluator serial,
+                                final CurveEvaluator evaluator) {
+        ArcLength previous = lastArcLength;
+        ArcLength arcLength;
+        if (previous == null || change == MANY_CHANGES) {
+            arcLength = measure(evaluator);
+        } else if (change == NO_CHANGE) {
+            arcLength = previous;
+        } else if (serial instanceof BSplineEvaluator) {
+            BSplineEvaluator spline = (BSplineEvaluator) serial;
+            int perSpan = previous.getIntervals() / spline.getSpanCount();
+            arcLength = new ArcLength(previous, evaluator);
+            arcLength.update(spline.getFirstSpan(change) * perSpan,
+                    (spline.getLastSpan(change) + 1) * perSpan);
+        } else {
+            arcLength = new ArcLength(previous, evaluator);
+            arcLength.shift(change, changeX, changeY);
+        }
+        lastArcLength = arcLength;
+        return arcLength;
+    }
+
+    /**
+     * Measures the arc length of a curve.
+     * The curve must have at least 2 control points.
+     *
+     * @param evaluator the evaluator of the curve
+     * @return the measured arc length
+     */
+    private ArcLength measure(final CurveEvaluator evaluator) {
+        // Whole spans per interval keep the integrand smooth.
+        int spans = evaluator.getSpanCount();
+        int intervals = spans * Math.max(1,
+                (settings.getArcLengthIntervals() + spans - 1) / spans);
+        ArcLength arcLength = new ArcLength(evaluator, intervals,
+                settings.getArcLengthTolerance());
+        arcLength.update();
+        return arcLength;
+    }
+
+    /**
+     * Creates the poly line of a Bezier Curve.
+     * If only one control point has moved since the last state,
+     * the last poly line is shifted by the move.
+     * Moving control point i by (dx, dy) moves the point at u
+     * by B(i, u) * (dx, dy), so the cost of that
+     * does not depend on the number of control points.
+     * Otherwise, the curve is calculated with the {@link BasisTable},
+     * or the {@link AdaptiveTessellator} if the settings ask for it.
+     *
+     * @param x the x coordinates of the control points
+     * @param y the y coordinates of the control points
+     * @return the poly line for the control points
+     */
+    private Polyline createCurve(final double[] x, final double[] y) {
+        Polyline polyline = new Polyline();
+        if (x.length < 2) {
+            return polyline;
+        }
+        if (settings.isAdaptive()) {
+            tessellator.tessellate(x, y, polyline);
+            return polyline;
+        }
+
+        int numberOfPoints = settings.getNumberOfPoints();
+        ParallelRange range = settings.getRange();
+        int changed = findChange(x, y, numberOfPoints + 1);
+        if (changed == NO_CHANGE) {
+            polylineReused = true;
+            change = NO_CHANGE;
+            return last.getPolyline();
+        }
+        BasisTable table = BasisTable.get(x.length - 1, numberOfPoints);
+        if (changed != MANY_CHANGES
+                && deltaUpdates < DELTA_REFRESH_INTERVAL) {
+            deltaUpdates++;
+            polylineReused = true;
+            double dx = x[changed] - last.getControlX(changed);
+            double dy = y[changed] - last.getControlY(changed);
+            change = changed;
+            changeX = dx;
+            changeY = dy;
+            polyline = last.getPolyline().copy();
+            double[] xs = polyline.getXs();
+            double[] ys = polyline.getYs();
+            range.run(numberOfPoints + 1, (from, to) -> {
+                for (int row = from; row < to; row++) {
+                    double w = table.weight(row, changed);
+                    xs[row] += w * dx;
+                    ys[row] += w * dy;
+                }
+            });
+            return polyline;
+        }
+
+        deltaUpdates = 0;
+        polyline.resize(numberOfPoints + 1);
+        double[] xs = polyline.getXs();
+        double[] ys = polyline.getYs();
+        range.run(numberOfPoints + 1, (from, to) ->
+                table.tessellate(x, y, xs, ys, from, to));
+        double[] us = polyline.getUs();
+        for (int i = 0; i <= numberOfPoints; i++) {
+            us[i] = (double) i / numberOfPoints;
+        }
+        return polyline;
+    }
+
+    /**
+     * Creates the poly line of a B-Spline.
+     * Every span is split into the points per span of the settings.
+     * If only one control point has moved since the last state,
+     * only the spans it affects are calculated again,
+     * and the rest of the last poly line is kept.
+     *
+     * @param x      the x coordinates of the control points
+     * @param y      the y coordinates of the control points
+     * @param spline the evaluator of the B-Spline
+     * @return the poly line for the control points
+     */
+    private Polyline createSpline(final double[] x, final double[] y,
+                                  final BSplineEvaluator spline) {
+        if (x.length < 2) {
+            return new Polyline();
+        }
+        int spans = spline.getSpanCount();
+        int pointsPerSpan = settings.getPointsPerSpan();
+        int points = spans * pointsPerSpan + 1;
+        int changed = findChange(x, y, points);
+        change = changed;
+        if (changed == NO_CHANGE) {
+            polylineReused = true;
+            return last.getPolyline();
+        }
+
+        Polyline polyline;
+        int first = 0;
+        int end = spans - 1;
+        if (changed == MANY_CHANGES) {
+            polyline = new Polyline();
+            polyline.resize(points);
+        } else {
+            polyline = last.getPolyline().copy();
+            polylineReused = true;
+            first = spline.getFirstSpan(changed);
+            end = spline.getLastSpan(changed);
+        }
+        double[] xs = polyline.getXs();
+        double[] ys = polyline.getYs();
+        double[] us = polyline.getUs();
+        int start = first;
+        // Neighbouring spans share a point, which both write the same.
+        settings.getRange().run(end - first + 1, (from, to) -> {
+            for (int span = start + from; span < start + to; span++) {
+                spline.tessellateSpan(span, pointsPerSpan, xs, ys, us);
+            }
+        });
+        return polyline;
+    }
+
+    /**
+     * Compares the given control points to the last state.
+     * Only a uniform poly line with as many points can be reused.
+     *
+     * @param x      the x coordinates of the control points
+     * @param y      the y coordinates of the control points
+     * @param points the number of points in the poly line
+     * @return the index of the only control point that changed,
+     * {@link CurveCalculator#NO_CHANGE},
+     * or {@link CurveCalculator#MANY_CHANGES}
+     */
+    private int findChange(final double[] x, final double[] y,
+                           final int points) {
+        int n = x.length;
+        if (last.getControlPointCount() != n
+                || last.getPolyline().getPointCount() != points) {
+            return MANY_CHANGES;
+        }
+        int changed = NO_CHANGE;
+        for (int i = 0; i < n; i++) {
+            if (x[i] != last.getControlX(i) || y[i] != last.getControlY(i)) {
+                if (changed != NO_CHANGE) {
+                    return MANY_CHANGES;
+                }
+                changed = i;
+            }
+        }
+        return changed;
+    }
+
+}
@@ -0,0 +1,159 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Evaluates points and derivatives of a Bezier Curve
+ * defined by a set of control point coordinates.
+ * Implementations differ only in the method they use,
+ * all of them describe the same curve,
+ * except {@link BSplineEvaluator}, which joins cubic spans instead.
+ *
+ * @author 150009974
+ * @version 1.5
+ */
+public interface CurveEvaluator {
+
+    /**
+     * Sets the control points of the curve to evaluate.
+     * The two arrays must have the same length.
+     * Implementations may precompute anything they need here.
+     *
+     * @param x the x coordinates of the control points
+     * @param y the y coordinates of the control points
+     */
+    void setControlPoints(double[] x, double[] y);
+
+    /**
+     * Calculates and returns the point on the curve at the given u.
+     *
+     * @param u the proportion from 0 to 1
+     * @return the point at u
+     */
+    Point2D.Double calculatePoint(double u);
+
+    /**
+     * Calculates and returns the first derivative of the curve at the given u.
+     *
+     * @param u the proportion from 0 to 1
+     * @return the first derivative at u
+     */
+    Point2D.Double calculateTangent(double u);
+
+    /**
+     * Calculates and returns the second derivative of the curve
+     * at the given u.
+     *
+     * @param u the proportion from 0 to 1
+     * @return the second derivative at u
+     */
+    Point2D.Double calculateSecondDerivative(double u);
+
+    /**
+     * Calculates the points on the curve at every given u
+     * into the given arrays.
+     * The outputs must have at least as many elements as us.
+     *
+     * @param us   the proportions from 0 to 1
+     * @param outX receives the x coordinates, at the indices of us
+     * @param outY receives the y coordinates, at the indices of us
+     */
+    default void evaluate(final double[] us, final double[] outX,
+                          final double[] outY) {
+        for (int i = 0; i < us.length; i++) {
+            Point2D.Double p = calculatePoint(us[i]);
+            outX[i] = p.x;
+            outY[i] = p.y;
+        }
+    }
+
+    /**
+     * Calculates the first derivatives of the curve at every given u
+     * into the given arrays.
+     * The outputs must have at least as many elements as us.
+     *
+     * @param us   the proportions from 0 to 1
+     * @param outX receives the x components, at the indices of us
+     * @param outY receives the y components, at the indices of us
+     */
+    default void evaluateTangents(final double[] us, final double[] outX,
+                                  final double[] outY) {
+        for (int i = 0; i < us.length; i++) {
+            Point2D.Double p = calculateTangent(us[i]);
+            outX[i] = p.x;
+            outY[i] = p.y;
+        }
+    }
+
+    /**
+     * Calculates the second derivatives of the curve at every given u
+     * into the given arrays.
+     * The outputs must have at least as many elements as us.
+     *
+     * @param us   the proportions from 0 to 1
+     * @param outX receives the x components, at the indices of us
+     * @param outY receives the y components, at the indices of us
+     */
+    default void evaluateSecondDerivatives(final double[] us,
+                                           final double[] outX,
+                                           final double[] outY) {
+        for (int i = 0; i < us.length; i++) {
+            Point2D.Double p = calculateSecondDerivative(us[i]);
+            outX[i] = p.x;
+            outY[i] = p.y;
+        }
+    }
+
+    /**
+     * Returns the number of polynomial spans the curve is made of.
+     * The spans share the range of u evenly.
+     *
+     * @return the number of spans, 1 for a single Bezier Curve
+     */
+    default int getSpanCount() {
+        return 1;
+    }
+
+    /**
+     * Returns the degree of the polynomials the curve is made of.
+     *
+     * @return one less than the number of control points
+     * for a single Bezier Curve, otherwise the degree of each span
+     */
+    int getDegree();
+
+    /**
+     * Creates the {@link CurveEvaluator} with the specified name.
+     * The known names are "bernstein", "de casteljau", "horner", and "vector".
+     * The VectorEvaluator is in the optional vector source root,
+     * so it is loaded by reflection.
+     * If it was not compiled, or the jdk.incubator.vector module is missing,
+     * a {@link DeCasteljauEvaluator} is created instead.
+     *
+     * @param name the name of the evaluator
+     * @return a new {@link CurveEvaluator} of the named kind
+     * @throws IllegalArgumentException if the name is not known
+     */
+    static CurveEvaluator forName(final String name) {
+        switch (name.trim().toLowerCase()) {
+            case "bernstein":
+                return new BernsteinEvaluator();
+            case "de casteljau":
+                return new DeCasteljauEvaluator();
+            case "horner":
+                return new HornerEvaluator();
+            case "vector":
+                try {
+                    return (CurveEvaluator) Class
+                            .forName("components.bezier.VectorEvaluator")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    return new DeCasteljauEvaluator();
+                }
+            default:
+                String message = "No curve evaluator \"" + name + "\"";
+                throw new IllegalArgumentException(message);
+        }
+    }
+
+}
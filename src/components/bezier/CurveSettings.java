@@ -0,0 +1,193 @@
+package components.bezier;
+
+import util.BasicProps;
+
+/**
+ * Holds the settings that the curve is calculated with.
+ * They are read once from properties,
+ * so that the calculation does not depend on any window
+ * and can run without a display.
+ * Lengths that the properties give as proportions of the screen width
+ * are converted to pixels with the width supplied by the caller.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class CurveSettings {
+
+    /** Whether the curve is a uniform cubic B-Spline. */
+    private final boolean bSpline;
+
+    /** The number of intervals each span of a B-Spline is split into. */
+    private final int pointsPerSpan;
+
+    /** The number of points in a uniform poly line. */
+    private final int numberOfPoints;
+
+    /** Whether the poly line is tessellated adaptively. */
+    private final boolean adaptive;
+
+    /** The distance, in pixels, within which a piece is flat. */
+    private final double flatnessTolerance;
+
+    /** The name of the {@link CurveEvaluator} to use. */
+    private final String evaluator;
+
+    /** The number of intervals for measuring arc length. */
+    private final int arcLengthIntervals;
+
+    /** The tolerance, in pixels, of the positions of samples. */
+    private final double arcLengthTolerance;
+
+    /** Splits work between threads, or runs it serially. */
+    private final ParallelRange range;
+
+    /** The length, in pixels, of the tangents to draw. */
+    private final double tangentLength;
+
+    /** The length, in pixels, of the curvatures to draw. */
+    private final double curvatureLength;
+
+    /** Whether the curvatures are drawn as a comb. */
+    private final boolean comb;
+
+    /** The length of the curvature of a circle of radius 1 in a comb. */
+    private final double combScale;
+
+    /**
+     * Reads the settings from the given properties.
+     *
+     * @param props the properties to read
+     * @param width the width of the screen, in pixels
+     */
+    public CurveSettings(final BasicProps props, final double width) {
+        bSpline = props.getString("curve mode").equals("b-spline");
+        pointsPerSpan = props.getAnyInt("b-spline points per span");
+        numberOfPoints = props.getAnyInt("curve number of points");
+        adaptive = props.getString("curve tessellation").equals("adaptive");
+        flatnessTolerance = props.getDouble("curve flatness tolerance");
+        evaluator = props.getString("curve evaluator");
+        arcLengthIntervals = props.getAnyInt("arc length intervals");
+        arcLengthTolerance = props.getDouble("arc length tolerance");
+        if (props.isTrue("parallel evaluation")) {
+            range = new ParallelRange(props.getAnyInt("parallel threads"),
+                    props.getAnyInt("parallel threshold"));
+        } else {
+            range = ParallelRange.serial();
+        }
+        tangentLength = props.getDouble("tangent length") * width;
+        curvatureLength = props.getDouble("curvature length") * width;
+        comb = props.isTrue("curvature comb");
+        combScale = props.getDouble("curvature comb scale");
+    }
+
+    /**
+     * Copies the given settings with a different number of points.
+     *
+     * @param other          the settings to copy
+     * @param numberOfPoints the number of points in a uniform poly line
+     */
+    private CurveSettings(final CurveSettings other,
+                          final int numberOfPoints) {
+        bSpline = other.bSpline;
+        pointsPerSpan = other.pointsPerSpan;
+        this.numberOfPoints = numberOfPoints;
+        adaptive = other.adaptive;
+        flatnessTolerance = other.flatnessTolerance;
+        evaluator = other.evaluator;
+        arcLengthIntervals = other.arcLengthIntervals;
+        arcLengthTolerance = other.arcLengthTolerance;
+        range = other.range;
+        tangentLength = other.tangentLength;
+        curvatureLength = other.curvatureLength;
+        comb = other.comb;
+        combScale = other.combScale;
+    }
+
+    /**
+     * Returns these settings with a different number of points,
+     * for comparing resolutions of the same curve.
+     *
+     * @param points the number of points in a uniform poly line
+     * @return a copy of these settings with that number of points
+     */
+    public CurveSettings withNumberOfPoints(final int points) {
+        return new CurveSettings(this, points);
+    }
+
+    /**
+     * Creates a new evaluator for the configured curve mode.
+     *
+     * @return a {@link BSplineEvaluator} for a B-Spline,
+     * otherwise the configured {@link CurveEvaluator}
+     */
+    public CurveEvaluator createEvaluator() {
+        if (bSpline) {
+            return new BSplineEvaluator();
+        }
+        return CurveEvaluator.forName(evaluator);
+    }
+
+    /** @return whether the curve is a uniform cubic B-Spline */
+    public boolean isBSpline() {
+        return bSpline;
+    }
+
+    /** @return the number of intervals each span of a B-Spline has */
+    public int getPointsPerSpan() {
+        return pointsPerSpan;
+    }
+
+    /** @return the number of points in a uniform poly line */
+    public int getNumberOfPoints() {
+        return numberOfPoints;
+    }
+
+    /** @return whether the poly line is tessellated adaptively */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /** @return the distance, in pixels, within which a piece is flat */
+    public double getFlatnessTolerance() {
+        return flatnessTolerance;
+    }
+
+    /** @return the number of intervals for measuring arc length */
+    public int getArcLengthIntervals() {
+        return arcLengthIntervals;
+    }
+
+    /** @return the tolerance, in pixels, of the positions of samples */
+    public double getArcLengthTolerance() {
+        return arcLengthTolerance;
+    }
+
+    /** @return splits work between threads, or runs it serially */
+    public ParallelRange getRange() {
+        return range;
+    }
+
+    /** @return the length, in pixels, of the tangents to draw */
+    public double getTangentLength() {
+        return tangentLength;
+    }
+
+    /**
+     * Returns the length of the curvature to draw.
+     * It is fixed, unless the curvatures are drawn as a comb,
+     * in which case it is proportional to the curvature.
+     *
+     * @param curvature the signed curvature
+     * @return the length, in pixels, of the curvature to draw
+     */
+    public double getCurvatureLength(final double curvature) {
+        return comb ? combScale * Math.abs(curvature) : curvatureLength;
+    }
+
+    /** @return whether the curvatures are drawn as a comb */
+    public boolean isComb() {
+        return comb;
+    }
+
+}
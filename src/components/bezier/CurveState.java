@@ -0,0 +1,114 @@
+package components.bezier;
+
+import java.awt.Point;
+
+/**
+ * Represents the result of calculating a curve
+ * for one set of control points.
+ * A {@link CurveState} is created by the {@link CurveCalculator}
+ * and is not modified once published,
+ * except for which vectors of its samples are shown,
+ * so it can be painted while the next one is being calculated.
+ *
+ * @author 150009974
+ * @version 1.5
+ */
+public final class CurveState {
+
+    /** The x coordinates of the control points. */
+    private final double[] controlX;
+
+    /** The y coordinates of the control points. */
+    private final double[] controlY;
+
+    /** Evaluates points and derivatives of the curve. */
+    private final CurveEvaluator evaluator;
+
+    /** The poly line that is drawn for the curve. */
+    private final Polyline polyline;
+
+    /** The uniformly sampled points for tangent and curvature vectors. */
+    private final SampleSet sampleSet;
+
+    /**
+     * Creates a {@link CurveState} from the given results.
+     * None of the arguments may be modified afterwards.
+     *
+     * @param controlX  the x coordinates of the control points
+     * @param controlY  the y coordinates of the control points
+     * @param evaluator the evaluator of the curve
+     * @param polyline  the poly line of the curve
+     * @param sampleSet the samples on the curve
+     */
+    public CurveState(final double[] controlX, final double[] controlY,
+                      final CurveEvaluator evaluator, final Polyline polyline,
+                      final SampleSet sampleSet) {
+        this.controlX = controlX;
+        this.controlY = controlY;
+        this.evaluator = evaluator;
+        this.polyline = polyline;
+        this.sampleSet = sampleSet;
+    }
+
+    /** @return the number of control points */
+    public int getControlPointCount() {
+        return controlX.length;
+    }
+
+    /**
+     * @param i the index of a control point
+     * @return the x coordinate of that control point
+     */
+    public double getControlX(final int i) {
+        return controlX[i];
+    }
+
+    /**
+     * @param i the index of a control point
+     * @return the y coordinate of that control point
+     */
+    public double getControlY(final int i) {
+        return controlY[i];
+    }
+
+    /** @return the evaluator of the curve */
+    public CurveEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /** @return the poly line of the curve, which must not be modified */
+    public Polyline getPolyline() {
+        return polyline;
+    }
+
+    /** @return the length of the curve */
+    public double getLength() {
+        return sampleSet.getLength();
+    }
+
+    /**
+     * @return the samples on the curve,
+     * whose activated vectors may be changed
+     */
+    public SampleSet getSampleSet() {
+        return sampleSet;
+    }
+
+    /** @return the number of samples on the curve */
+    public int getSampleCount() {
+        return sampleSet.getCount();
+    }
+
+    /**
+     * Finds the {@link Sample} that contains the given {@link Point}.
+     *
+     * @param location the {@link Point} to check
+     * @return a view of the {@link Sample} containing the point,
+     * or null if none does
+     */
+    public Sample findSample(final Point location) {
+        int i = sampleSet.find(location.x, location.y, Sample.getRadius());
+        return i < 0 ? null : new Sample(sampleSet, i);
+    }
+
+}
@@ -0,0 +1,206 @@
+package components.bezier;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Calculates a curve on a background thread,
+ * with a {@link CurveCalculator}.
+ * Requests carry a copy of the control points.
+ * If several requests arrive while one is being calculated,
+ * only the latest of them is calculated next and the rest are dropped.
+ * Requests also tell whether the tangents and curvatures are shown,
+ * so their derivatives are evaluated here too, not on the event thread.
+ * Every finished {@link CurveState} is passed to a publisher.
+ * Showing or hiding all tangents or curvatures of the current state
+ * is done here as well, without calculating the curve again.
+ *
+ * @author 150009974
+ * @version 1.6
+ */
+public final class CurveWorker {
+
+    /** Receives every finished {@link CurveState}. */
+    private final Consumer<CurveState> publisher;
+
+    /** The thread that calculates the curve. */
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "Curve Worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** The latest request that has not been picked up yet. */
+    private final AtomicReference<Request> pending = new AtomicReference<>();
+
+    /** Calculates the curve. Only used by the worker thread. */
+    private final CurveCalculator calculator;
+
+    /**
+     * The last calculated state, null until there is one.
+     * Only used by the worker thread.
+     */
+    private CurveState current;
+
+    /**
+     * Creates a {@link CurveWorker} that passes its results
+     * to the given publisher.
+     * The publisher is called on the worker thread.
+     *
+     * @param settings  the settings the curve is calculated with
+     * @param publisher receives every finished {@link CurveState}
+     */
+    public CurveWorker(final CurveSettings settings,
+                       final Consumer<CurveState> publisher) {
+        this.publisher = publisher;
+        calculator = new CurveCalculator(settings);
+    }
+
+    /** @return a state for a curve without control points */
+    public CurveState createEmptyState() {
+        return calculator.createEmptyState();
+    }
+
+    /**
+     * Requests the curve with the given control points to be calculated.
+     * The arrays must not be modified afterwards.
+     *
+     * @param x               the x coordinates of the control points
+     * @param y               the y coordinates of the control points
+     * @param numberOfSamples the amount of {@link Sample}s to make
+     * @param tangents        whether the tangents of the samples are shown
+     * @param curvatures      whether the curvatures of the samples are shown
+     */
+    public void submit(final double[] x, final double[] y,
+                       final int numberOfSamples, final boolean tangents,
+                       final boolean curvatures) {
+        Request request = new Request(x, y, numberOfSamples,
+                tangents, curvatures);
+        if (pending.getAndSet(request) == null) {
+            executor.execute(this::calculatePending);
+        }
+    }
+
+    /**
+     * Requests all tangents of the current state to be shown or hidden.
+     * Their derivatives are evaluated first if they are shown.
+     * The curvatures are left as they are,
+     * and the same state is passed to the given consumer when it is done,
+     * on the worker thread.
+     * Nothing happens if no curve has been calculated yet.
+     *
+     * @param active whether the tangents should be shown
+     * @param done   receives the current state once it has been changed
+     */
+    public void setTangentsActivated(final boolean active,
+                                     final Consumer<CurveState> done) {
+        executor.execute(() -> {
+            if (current == null) {
+                return;
+            }
+            SampleSet samples = current.getSampleSet();
+            if (active) {
+                samples.evaluateDerivatives();
+            }
+            samples.setTangentsActivated(active);
+            done.accept(current);
+        });
+    }
+
+    /**
+     * Requests all curvatures of the current state to be shown or hidden.
+     * Their derivatives are evaluated first if they are shown.
+     * The tangents are left as they are,
+     * and the same state is passed to the given consumer when it is done,
+     * on the worker thread.
+     * Nothing happens if no curve has been calculated yet.
+     *
+     * @param active whether the curvatures should be shown
+     * @param done   receives the current state once it has been changed
+     */
+    public void setCurvaturesActivated(final boolean active,
+                                       final Consumer<CurveState> done) {
+        executor.execute(() -> {
+            if (current == null) {
+                return;
+            }
+            SampleSet samples = current.getSampleSet();
+            if (active) {
+                samples.evaluateDerivatives();
+            }
+            samples.setCurvaturesActivated(active);
+            done.accept(current);
+        });
+    }
+
+    /**
+     * Calculates and publishes the latest pending request, if any.
+     * New samples have their tangents and curvatures shown
+     * as the request says, and their derivatives are evaluated all at once
+     * only if either is shown,
+     * otherwise they are left until a {@link Sample} is toggled.
+     * Samples kept from the last state keep their vectors as they are.
+     */
+    private void calculatePending() {
+        Request request = pending.getAndSet(null);
+        if (request == null) {
+            return;
+        }
+        SampleSet previous = current == null
+                ? null : current.getSampleSet();
+        CurveState state = calculator.calculate(request.x, request.y,
+                request.numberOfSamples);
+        SampleSet samples = state.getSampleSet();
+        if (samples != previous) {
+            if (request.tangents || request.curvatures) {
+                samples.evaluateDerivatives();
+            }
+            samples.setTangentsActivated(request.tangents);
+            samples.setCurvaturesActivated(request.curvatures);
+        }
+        current = state;
+        publisher.accept(state);
+    }
+
+    /** A request to calculate the curve. */
+    private static final class Request {
+
+        /** The x coordinates of the control points. */
+        private final double[] x;
+
+        /** The y coordinates of the control points. */
+        private final double[] y;
+
+        /** The amount of {@link Sample}s to make. */
+        private final int numberOfSamples;
+
+        /** Whether the tangents of the samples are shown. */
+        private final boolean tangents;
+
+        /** Whether the curvatures of the samples are shown. */
+        private final boolean curvatures;
+
+        /**
+         * Creates a {@link Request} with the given values.
+         *
+         * @param x               the x coordinates of the control points
+         * @param y               the y coordinates of the control points
+         * @param numberOfSamples the amount of {@link Sample}s to make
+         * @param tangents        whether the tangents are shown
+         * @param curvatures      whether the curvatures are shown
+         */
+        private Request(final double[] x, final double[] y,
+                        final int numberOfSamples, final boolean tangents,
+                        final boolean curvatures) {
+            this.x = x;
+            this.y = y;
+            this.numberOfSamples = numberOfSamples;
+            this.tangents = tangents;
+            this.curvatures = curvatures;
+        }
+    }
+
+}
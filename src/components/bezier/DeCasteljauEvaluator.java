@@ -0,0 +1,55 @@
+package components.bezier;
+
+/**
+ * Evaluates a Bezier Curve with De Casteljau's algorithm.
+ * The control polygon is repeatedly interpolated at u
+ * until a single point remains.
+ * The derivatives are evaluated the same way from the hodographs.
+ * This is the most numerically stable of the evaluators.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public class DeCasteljauEvaluator extends HodographEvaluator {
+
+    @Override
+    protected void evaluate(final double[] x, final double[] y,
+                            final double[] us,
+                            final double[] outX, final double[] outY) {
+        if (x.length == 0) {
+            for (int k = 0; k < us.length; k++) {
+                outX[k] = 0;
+                outY[k] = 0;
+            }
+            return;
+        }
+        // The triangle is built in these, so the controls stay intact.
+        double[] cx = new double[x.length];
+        double[] cy = new double[y.length];
+        for (int k = 0; k < us.length; k++) {
+            System.arraycopy(x, 0, cx, 0, x.length);
+            System.arraycopy(y, 0, cy, 0, y.length);
+            outX[k] = reduce(cx, us[k]);
+            outY[k] = reduce(cy, us[k]);
+        }
+    }
+
+    /**
+     * Applies De Casteljau steps in place until one value remains.
+     *
+     * @param c the coordinates to reduce
+     * @param u the proportion from 0 to 1
+     * @return the value of the curve at u
+     */
+    private static double reduce(final double[] c, final double u) {
+        double v = 1 - u;
+        int last = c.length - 1;
+        for (int r = 1; r <= last; r++) {
+            for (int i = 0; i <= last - r; i++) {
+                c[i] = v * c[i] + u * c[i + 1];
+            }
+        }
+        return c[0];
+    }
+
+}
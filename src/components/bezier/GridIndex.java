@@ -0,0 +1,156 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.function.Predicate;
+
+/**
+ * Indexes points by the cell of a uniform grid they fall in.
+ * Finding the point under the mouse then only checks
+ * the few cells around it, instead of every point.
+ * The points must not be moved without telling the index.
+ *
+ * @param <T> the type of the indexed points
+ * @author 150009974
+ * @version 1.0
+ */
+public final class GridIndex<T extends Point2D> {
+
+    /** The side of a cell of the grid. */
+    private final double cellSize;
+
+    /** The largest distance from a point at which it can be hit. */
+    private final double radius;
+
+    /** The points in each non-empty cell. */
+    private final HashMap<Long, ArrayList<T>> cells = new HashMap<>();
+
+    /**
+     * Creates an empty {@link GridIndex} for points
+     * that can be hit within the given radius.
+     *
+     * @param radius the largest distance from a point at which it can be hit
+     */
+    public GridIndex(final double radius) {
+        this.radius = radius;
+        this.cellSize = Math.max(radius * 2, 1);
+    }
+
+    /**
+     * Adds a point to the index.
+     *
+     * @param point the point to add
+     */
+    public void add(final T point) {
+        long key = key(point.getX(), point.getY());
+        cells.computeIfAbsent(key, k -> new ArrayList<>()).add(point);
+    }
+
+    /**
+     * Removes a point from the index.
+     *
+     * @param point the point to remove
+     */
+    public void remove(final T point) {
+        remove(point, point.getX(), point.getY());
+    }
+
+    /**
+     * Updates the index after a point has moved.
+     *
+     * @param point the point that moved
+     * @param oldX  the x coordinate of the point before it moved
+     * @param oldY  the y coordinate of the point before it moved
+     */
+    public void move(final T point, final double oldX, final double oldY) {
+        remove(point, oldX, oldY);
+        add(point);
+    }
+
+    /** Removes all points from the index. */
+    public void clear() {
+        cells.clear();
+    }
+
+    /**
+     * Finds a point that is hit at the given location.
+     * Only the points in the cells within the radius are checked.
+     * If several points are hit, any one of them may be returned.
+     *
+     * @param location the location to check
+     * @param hit      tells whether a point is hit at the location
+     * @return a point that is hit, or null if there is none
+     */
+    public T find(final Point2D location, final Predicate<T> hit) {
+        int minX = cell(location.getX() - radius);
+        int maxX = cell(location.getX() + radius);
+        int minY = cell(location.getY() - radius);
+        int maxY = cell(location.getY() + radius);
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                ArrayList<T> points = cells.get(key(cx, cy));
+                if (points == null) {
+                    continue;
+                }
+                for (T point : points) {
+                    if (hit.test(point)) {
+                        return point;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a point from the cell at the given location.
+     *
+     * @param point the point to remove
+     * @param x     the x coordinate the point was indexed at
+     * @param y     the y coordinate the point was indexed at
+     */
+    private void remove(final T point, final double x, final double y) {
+        long key = key(x, y);
+        ArrayList<T> points = cells.get(key);
+        if (points == null) {
+            return;
+        }
+        for (int i = 0; i < points.size(); i++) {
+            if (points.get(i) == point) {
+                points.remove(i);
+                break;
+            }
+        }
+        if (points.isEmpty()) {
+            cells.remove(key);
+        }
+    }
+
+    /**
+     * @param coordinate a coordinate
+     * @return the index of the cell containing the coordinate
+     */
+    private int cell(final double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * @param x the x coordinate of a location
+     * @param y the y coordinate of a location
+     * @return the key of the cell containing the location
+     */
+    private long key(final double x, final double y) {
+        return key(cell(x), cell(y));
+    }
+
+    /**
+     * @param cx the column of a cell
+     * @param cy the row of a cell
+     * @return the key of that cell
+     */
+    private static long key(final int cx, final int cy) {
+        return ((long) cx << Integer.SIZE) | (cy & 0xFFFFFFFFL);
+    }
+
+}
@@ -0,0 +1,153 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Evaluates a Bezier Curve and its derivatives
+ * as three curves of decreasing degree.
+ * The derivative of a Bezier Curve of degree n is its hodograph,
+ * a Bezier Curve of degree n - 1 with the control points
+ * n * (p(i + 1) - pI).
+ * The hodographs are calculated once when the control points are set,
+ * so a tangent costs no more than a point of a lower degree.
+ * Subclasses only supply how a single curve is evaluated
+ * at a batch of values of u.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public abstract class HodographEvaluator implements CurveEvaluator {
+
+    /** The x coordinates of the control points of the curve. */
+    private double[] xs = new double[0];
+
+    /** The y coordinates of the control points of the curve. */
+    private double[] ys = new double[0];
+
+    /** The x coordinates of the control points of the first hodograph. */
+    private double[] dxs = new double[0];
+
+    /** The y coordinates of the control points of the first hodograph. */
+    private double[] dys = new double[0];
+
+    /** The x coordinates of the control points of the second hodograph. */
+    private double[] ddxs = new double[0];
+
+    /** The y coordinates of the control points of the second hodograph. */
+    private double[] ddys = new double[0];
+
+    @Override
+    public final void setControlPoints(final double[] x, final double[] y) {
+        double[] dx = hodograph(x);
+        double[] dy = hodograph(y);
+        xs = prepare(x.clone());
+        ys = prepare(y.clone());
+        ddxs = prepare(hodograph(dx));
+        ddys = prepare(hodograph(dy));
+        dxs = prepare(dx);
+        dys = prepare(dy);
+    }
+
+    @Override
+    public final int getDegree() {
+        return xs.length - 1;
+    }
+
+    @Override
+    public final Point2D.Double calculatePoint(final double u) {
+        return evaluate(xs, ys, u);
+    }
+
+    @Override
+    public final Point2D.Double calculateTangent(final double u) {
+        return evaluate(dxs, dys, u);
+    }
+
+    @Override
+    public final Point2D.Double calculateSecondDerivative(final double u) {
+        return evaluate(ddxs, ddys, u);
+    }
+
+    @Override
+    public final void evaluate(final double[] us, final double[] outX,
+                               final double[] outY) {
+        evaluate(xs, ys, us, outX, outY);
+    }
+
+    @Override
+    public final void evaluateTangents(final double[] us, final double[] outX,
+                                       final double[] outY) {
+        evaluate(dxs, dys, us, outX, outY);
+    }
+
+    @Override
+    public final void evaluateSecondDerivatives(final double[] us,
+                                                final double[] outX,
+                                                final double[] outY) {
+        evaluate(ddxs, ddys, us, outX, outY);
+    }
+
+    /**
+     * Evaluates a Bezier Curve at a single value of u.
+     *
+     * @param x the x coordinates, as returned by prepare
+     * @param y the y coordinates, as returned by prepare
+     * @param u the proportion from 0 to 1
+     * @return the point at u
+     */
+    private Point2D.Double evaluate(final double[] x, final double[] y,
+                                    final double u) {
+        double[] px = new double[1];
+        double[] py = new double[1];
+        evaluate(x, y, new double[] {u}, px, py);
+        return new Point2D.Double(px[0], py[0]);
+    }
+
+    /**
+     * Converts control coordinates into the form that
+     * {@link HodographEvaluator#evaluate(double[], double[], double[],
+     * double[], double[])} expects.
+     * By default, they are kept as they are.
+     *
+     * @param c the control coordinates, which may be modified
+     * @return the converted coordinates
+     */
+    protected double[] prepare(final double[] c) {
+        return c;
+    }
+
+    /**
+     * Evaluates a Bezier Curve of any degree at every given u.
+     * An empty curve evaluates to (0, 0).
+     * The control arrays must not be modified,
+     * and nothing may be allocated per point.
+     *
+     * @param x    the x coordinates, as returned by prepare
+     * @param y    the y coordinates, as returned by prepare
+     * @param us   the proportions from 0 to 1
+     * @param outX receives the x coordinates, at the indices of us
+     * @param outY receives the y coordinates, at the indices of us
+     */
+    protected abstract void evaluate(double[] x, double[] y, double[] us,
+                                     double[] outX, double[] outY);
+
+    /**
+     * Calculates the control coordinates of the hodograph
+     * of the curve with the given control coordinates.
+     *
+     * @param c the control coordinates of a curve of degree n
+     * @return the n control coordinates of its derivative
+     */
+    private static double[] hodograph(final double[] c) {
+        int n = c.length - 1;
+        if (n < 1) {
+            return new double[0];
+        }
+        double[] d = new double[n];
+        for (int i = 0; i < n; i++) {
+            d[i] = n * (c[i + 1] - c[i]);
+        }
+        return d;
+    }
+
+}
@@ -0,0 +1,68 @@
+package components.bezier;
+
+/**
+ * Evaluates a Bezier Curve in the power basis with Horner's scheme.
+ * The control points and hodographs are converted
+ * to polynomial coefficients once, after which a point
+ * costs one multiplication and addition per degree.
+ * The conversion loses precision quickly as the degree grows,
+ * so this evaluator is best suited to curves of low degree.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public class HornerEvaluator extends HodographEvaluator {
+
+    @Override
+    protected double[] prepare(final double[] c) {
+        return toPowerBasis(c);
+    }
+
+    @Override
+    protected void evaluate(final double[] x, final double[] y,
+                            final double[] us,
+                            final double[] outX, final double[] outY) {
+        for (int k = 0; k < us.length; k++) {
+            outX[k] = horner(x, us[k]);
+            outY[k] = horner(y, us[k]);
+        }
+    }
+
+    /**
+     * Converts Bezier control coordinates to power basis coefficients.
+     * The coefficient of u^k is
+     * C(n, k) * sum over i from 0 to k of (-1)^(k - i) * C(k, i) * pI.
+     *
+     * @param c the control coordinates
+     * @return the coefficients, lowest power first
+     */
+    private static double[] toPowerBasis(final double[] c) {
+        int n = c.length - 1;
+        double[] a = new double[c.length];
+        for (int k = 0; k <= n; k++) {
+            double sum = 0;
+            for (int i = 0; i <= k; i++) {
+                double term = Combinatorics.binomial(k, i) * c[i];
+                sum += (k - i) % 2 == 0 ? term : -term;
+            }
+            a[k] = Combinatorics.binomial(n, k) * sum;
+        }
+        return a;
+    }
+
+    /**
+     * Evaluates a polynomial with Horner's scheme.
+     *
+     * @param a the coefficients, lowest power first
+     * @param u the value to evaluate at
+     * @return the value of the polynomial at u
+     */
+    private static double horner(final double[] a, final double u) {
+        double result = 0;
+        for (int k = a.length - 1; k >= 0; k--) {
+            result = result * u + a[k];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,127 @@
+package components.bezier;
+
+import java.awt.geom.Point2D;
+
+/**
+ * Evaluates batches of another {@link CurveEvaluator} in parallel.
+ * A batch is split into pieces by a {@link ParallelRange},
+ * and each piece is evaluated by the other evaluator on its own.
+ * Every point is calculated by the same code as in a serial batch,
+ * so the results are the same.
+ * Single points are passed straight to the other evaluator.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class ParallelEvaluator implements CurveEvaluator {
+
+    /** The evaluator that calculates the points. */
+    private final CurveEvaluator evaluator;
+
+    /** Splits the batches. */
+    private final ParallelRange range;
+
+    /**
+     * Creates a {@link ParallelEvaluator} around the given evaluator.
+     * The evaluator must be safe to use from several threads at once.
+     *
+     * @param evaluator the evaluator that calculates the points
+     * @param range     splits the batches
+     */
+    public ParallelEvaluator(final CurveEvaluator evaluator,
+                             final ParallelRange range) {
+        this.evaluator = evaluator;
+        this.range = range;
+    }
+
+    @Override
+    public void setControlPoints(final double[] x, final double[] y) {
+        evaluator.setControlPoints(x, y);
+    }
+
+    @Override
+    public Point2D.Double calculatePoint(final double u) {
+        return evaluator.calculatePoint(u);
+    }
+
+    @Override
+    public Point2D.Double calculateTangent(final double u) {
+        return evaluator.calculateTangent(u);
+    }
+
+    @Override
+    public Point2D.Double calculateSecondDerivative(final double u) {
+        return evaluator.calculateSecondDerivative(u);
+    }
+
+    @Override
+    public int getSpanCount() {
+        return evaluator.getSpanCount();
+    }
+
+    @Override
+    public int getDegree() {
+        return evaluator.getDegree();
+    }
+
+    @Override
+    public void evaluate(final double[] us, final double[] outX,
+                         final double[] outY) {
+        split(us, outX, outY, evaluator::evaluate);
+    }
+
+    @Override
+    public void evaluateTangents(final double[] us, final double[] outX,
+                                 final double[] outY) {
+        split(us, outX, outY, evaluator::evaluateTangents);
+    }
+
+    @Override
+    public void evaluateSecondDerivatives(final double[] us,
+                                          final double[] outX,
+                                          final double[] outY) {
+        split(us, outX, outY, evaluator::evaluateSecondDerivatives);
+    }
+
+    /**
+     * Splits a batch into pieces and evaluates them in parallel.
+     * Each piece is copied out, evaluated, and copied back.
+     *
+     * @param us    the proportions from 0 to 1
+     * @param outX  receives the x components, at the indices of us
+     * @param outY  receives the y components, at the indices of us
+     * @param batch evaluates one piece
+     */
+    private void split(final double[] us, final double[] outX,
+                       final double[] outY, final Batch batch) {
+        range.run(us.length, (from, to) -> {
+            if (from == 0 && to == us.length) {
+                batch.evaluate(us, outX, outY);
+                return;
+            }
+            int length = to - from;
+            double[] pieceU = new double[length];
+            double[] pieceX = new double[length];
+            double[] pieceY = new double[length];
+            System.arraycopy(us, from, pieceU, 0, length);
+            batch.evaluate(pieceU, pieceX, pieceY);
+            System.arraycopy(pieceX, 0, outX, from, length);
+            System.arraycopy(pieceY, 0, outY, from, length);
+        });
+    }
+
+    /** One of the batch methods of a {@link CurveEvaluator}. */
+    @FunctionalInterface
+    private interface Batch {
+
+        /**
+         * Evaluates a batch.
+         *
+         * @param us   the proportions from 0 to 1
+         * @param outX receives the x components
+         * @param outY receives the y components
+         */
+        void evaluate(double[] us, double[] outX, double[] outY);
+    }
+
+}
@@ -0,0 +1,119 @@
+package components.bezier;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs work over a range of indices on a {@link ForkJoinPool}.
+ * The range is split in halves until the pieces are
+ * no larger than a threshold, and the pieces run in parallel.
+ * Each index must be independent of the others,
+ * so the results are the same as running the range at once.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class ParallelRange {
+
+    /**
+     * Work over part of a range of indices.
+     * It must only write to the indices it is given.
+     */
+    @FunctionalInterface
+    public interface Body {
+
+        /**
+         * Runs the work for the indices from inclusive to exclusive.
+         *
+         * @param from the first index
+         * @param to   one past the last index
+         */
+        void run(int from, int to);
+    }
+
+    /** The pool the pieces run on, null if everything runs serially. */
+    private final ForkJoinPool pool;
+
+    /** The largest range that is not split. */
+    private final int threshold;
+
+    /**
+     * Creates a {@link ParallelRange} with its own pool.
+     *
+     * @param threads   the number of threads, 0 for one per processor
+     * @param threshold the largest range that is not split
+     */
+    public ParallelRange(final int threads, final int threshold) {
+        int parallelism = threads > 0
+                ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism);
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /** Creates a {@link ParallelRange} that never splits. */
+    private ParallelRange() {
+        this.pool = null;
+        this.threshold = Integer.MAX_VALUE;
+    }
+
+    /** @return a {@link ParallelRange} that runs everything serially */
+    public static ParallelRange serial() {
+        return new ParallelRange();
+    }
+
+    /**
+     * Runs the body over the indices from 0 to count, exclusive,
+     * and waits for it to finish.
+     *
+     * @param count the number of indices
+     * @param body  the work to run
+     */
+    public void run(final int count, final Body body) {
+        if (count <= threshold) {
+            body.run(0, count);
+        } else {
+            pool.invoke(new Split(0, count, body));
+        }
+    }
+
+    /** A piece of a range that is split further if it is too large. */
+    private final class Split extends RecursiveAction {
+
+        /** The version of the serialized form of a {@link Split}. */
+        private static final long serialVersionUID = 1L;
+
+        /** The first index of the piece. */
+        private final int from;
+
+        /** One past the last index of the piece. */
+        private final int to;
+
+        /** The work to run. */
+        private final Body body;
+
+        /**
+         * Creates a {@link Split} for the given piece.
+         *
+         * @param from the first index of the piece
+         * @param to   one past the last index of the piece
+         * @param body the work to run
+         */
+        private Split(final int from, final int to, final Body body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                body.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Split(from, middle, body),
+                    new Split(middle, to, body));
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+package components.bezier;
+
+import util.RollingTimer;
+
+/**
+ * The phases of calculating and painting a curve that are timed.
+ * Each keeps the durations of its most recent runs,
+ * so that the timings can be shown while the curve is being edited.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public enum Phase {
+
+    /** Calculating the whole curve for new control points. */
+    UPDATE("update"),
+
+    /** Creating the poly line. */
+    CREATE_CURVE("createCurve"),
+
+    /** Measuring the length of the curve. */
+    CALCULATE_LENGTH("calculateLength"),
+
+    /** Placing the samples at equal distances along the curve. */
+    SAMPLE_CURVE("sampleCurve"),
+
+    /** Evaluating the derivatives of all samples at once. */
+    EVALUATE_DERIVATIVES("evaluateDerivatives"),
+
+    /** Painting the whole canvas. */
+    PANE_PAINT("Pane.paint"),
+
+    /** Painting the control points and their ids. */
+    PAINT_CONTROL_POINTS("paint control points"),
+
+    /** Painting the samples and their ids. */
+    PAINT_SAMPLES("paint samples"),
+
+    /** Painting the tangents. */
+    PAINT_TANGENTS("paint tangents"),
+
+    /** Painting the curvatures. */
+    PAINT_CURVATURES("paint curvatures"),
+
+    /** Painting the poly line. */
+    PAINT_CURVE("paint curve");
+
+    /** The number of most recent runs that are kept. */
+    private static final int WINDOW = 256;
+
+    /** The name the phase is shown with. */
+    private final String label;
+
+    /** The durations of the most recent runs. */
+    private final RollingTimer timer = new RollingTimer(WINDOW);
+
+    /**
+     * Creates a {@link Phase} with the given name.
+     *
+     * @param label the name the phase is shown with
+     */
+    Phase(final String label) {
+        this.label = label;
+    }
+
+    /**
+     * Records a run of this phase that started at the given time.
+     *
+     * @param start the time the run started, from {@link System#nanoTime()}
+     * @return the current time, so that the next phase can start
+     */
+    public long stop(final long start) {
+        return timer.stop(start);
+    }
+
+    /** @return the durations of the most recent runs */
+    public RollingTimer getTimer() {
+        return timer;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+}
@@ -0,0 +1,158 @@
+package components.bezier;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Finds points near a location among points given as arrays of coordinates.
+ * It is the {@link GridIndex} for points that are not objects:
+ * the points are bucketed into square cells,
+ * and the cells are stored as two arrays of indices,
+ * so no object is created per point.
+ * The points must not move once the grid is built.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public final class PointGrid {
+
+    /** The largest number of cells per point before cells are enlarged. */
+    private static final int CELLS_PER_POINT = 4;
+
+    /** The x coordinates of the points. */
+    private final double[] xs;
+
+    /** The y coordinates of the points. */
+    private final double[] ys;
+
+    /** The largest distance at which a point is searched for. */
+    private final double radius;
+
+    /** The side of a cell. */
+    private final double cellSize;
+
+    /** The smallest x coordinate of the points. */
+    private final double minX;
+
+    /** The smallest y coordinate of the points. */
+    private final double minY;
+
+    /** The number of columns of cells. */
+    private final int columns;
+
+    /** The number of rows of cells. */
+    private final int rows;
+
+    /**
+     * The index in {@link PointGrid#points} of the first point of each cell,
+     * with one more element for the end of the last cell.
+     */
+    private final int[] cellStarts;
+
+    /** The indices of the points, grouped by cell. */
+    private final int[] points;
+
+    /**
+     * Builds a grid of the given points.
+     *
+     * @param xs     the x coordinates of the points
+     * @param ys     the y coordinates of the points
+     * @param radius the largest distance at which a point is searched for
+     */
+    public PointGrid(final double[] xs, final double[] ys,
+                     final double radius) {
+        this.xs = xs;
+        this.ys = ys;
+        this.radius = radius;
+        int n = xs.length;
+        double lowX = Double.POSITIVE_INFINITY;
+        double lowY = Double.POSITIVE_INFINITY;
+        double highX = Double.NEGATIVE_INFINITY;
+        double highY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            lowX = Math.min(lowX, xs[i]);
+            lowY = Math.min(lowY, ys[i]);
+            highX = Math.max(highX, xs[i]);
+            highY = Math.max(highY, ys[i]);
+        }
+        minX = n == 0 ? 0 : lowX;
+        minY = n == 0 ? 0 : lowY;
+
+        // Cells no smaller than a diameter, and few enough for the points.
+        double size = Math.max(radius * 2, 1);
+        double width = n == 0 ? 0 : highX - lowX;
+        double height = n == 0 ? 0 : highY - lowY;
+        double maxCells = Math.max((double) n * CELLS_PER_POINT, 1);
+        while ((Math.floor(width / size) + 1)
+                * (Math.floor(height / size) + 1) > maxCells) {
+            size *= 2;
+        }
+        cellSize = size;
+        columns = (int) Math.floor(width / size) + 1;
+        rows = (int) Math.floor(height / size) + 1;
+
+        cellStarts = new int[columns * rows + 1];
+        for (int i = 0; i < n; i++) {
+            cellStarts[cell(i) + 1]++;
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            cellStarts[c + 1] += cellStarts[c];
+        }
+        points = new int[n];
+        int[] next = cellStarts.clone();
+        for (int i = 0; i < n; i++) {
+            points[next[cell(i)]++] = i;
+        }
+    }
+
+    /**
+     * Finds a point near the given location that passes the given test.
+     * Only points in the cells within the radius of the location are tested.
+     *
+     * @param x   the x coordinate of the location
+     * @param y   the y coordinate of the location
+     * @param hit tells whether the point with an index is the one sought
+     * @return the index of the first point that passed, or -1 if none did
+     */
+    public int find(final double x, final double y, final IntPredicate hit) {
+        int fromColumn = Math.max(column(x - radius), 0);
+        int toColumn = Math.min(column(x + radius), columns - 1);
+        int fromRow = Math.max(row(y - radius), 0);
+        int toRow = Math.min(row(y + radius), rows - 1);
+        for (int column = fromColumn; column <= toColumn; column++) {
+            for (int row = fromRow; row <= toRow; row++) {
+                int c = row * columns + column;
+                for (int k = cellStarts[c]; k < cellStarts[c + 1]; k++) {
+                    if (hit.test(points[k])) {
+                        return points[k];
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param i the index of a point
+     * @return the index of the cell of that point
+     */
+    private int cell(final int i) {
+        return row(ys[i]) * columns + column(xs[i]);
+    }
+
+    /**
+     * @param x an x coordinate
+     * @return the column of cells it is in, possibly outside the grid
+     */
+    private int column(final double x) {
+        return (int) Math.max(Math.floor((x - minX) / cellSize), -1);
+    }
+
+    /**
+     * @param y a y coordinate
+     * @return the row of cells it is in, possibly outside the grid
+     */
+    private int row(final double y) {
+        return (int) Math.max(Math.floor((y - minY) / cellSize), -1);
+    }
+
+}
@@ -0,0 +1,156 @@
+package components.bezier;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Line2D;
+import java.util.Arrays;
+
+/**
+ * Stores the poly line that approximates a Bezier Curve.
+ * The points are kept in parallel arrays of coordinates and u values,
+ * rather than as objects, so that large tessellations
+ * take little memory and can be traversed quickly.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public final class Polyline {
+
+    /** The initial capacity of the arrays. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The x coordinates of the points. */
+    private double[] xs = new double[INITIAL_CAPACITY];
+
+    /** The y coordinates of the points. */
+    private double[] ys = new double[INITIAL_CAPACITY];
+
+    /** The values of u at the points. */
+    private double[] us = new double[INITIAL_CAPACITY];
+
+    /** The number of points. */
+    private int size;
+
+    /** Removes all points. */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Sets the number of points, growing the arrays if needed.
+     * The values of any new points are unspecified
+     * until they are written to the arrays.
+     *
+     * @param points the new number of points
+     */
+    public void resize(final int points) {
+        ensureCapacity(points);
+        size = points;
+    }
+
+    /**
+     * Appends a point, growing the arrays if needed.
+     *
+     * @param x the x coordinate of the point
+     * @param y the y coordinate of the point
+     * @param u the value of u at the point
+     */
+    public void add(final double x, final double y, final double u) {
+        if (size == xs.length) {
+            ensureCapacity(size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        us[size] = u;
+        size++;
+    }
+
+    /**
+     * Makes sure the arrays can hold the given number of points.
+     *
+     * @param capacity the number of points to hold
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > xs.length) {
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            us = Arrays.copyOf(us, capacity);
+        }
+    }
+
+    /**
+     * Creates a copy of this {@link Polyline}
+     * that does not share its arrays.
+     *
+     * @return the copy
+     */
+    public Polyline copy() {
+        Polyline copy = new Polyline();
+        copy.xs = Arrays.copyOf(xs, Math.max(size, 1));
+        copy.ys = Arrays.copyOf(ys, Math.max(size, 1));
+        copy.us = Arrays.copyOf(us, Math.max(size, 1));
+        copy.size = size;
+        return copy;
+    }
+
+    /** @return the number of points */
+    public int getPointCount() {
+        return size;
+    }
+
+    /** @return the number of segments between consecutive points */
+    public int getSegmentCount() {
+        return Math.max(size - 1, 0);
+    }
+
+    /**
+     * Returns the array of x coordinates.
+     * Only the first {@link Polyline#getPointCount()} elements are points.
+     * The array is replaced when the {@link Polyline} grows.
+     *
+     * @return the x coordinates of the points
+     */
+    public double[] getXs() {
+        return xs;
+    }
+
+    /**
+     * Returns the array of y coordinates.
+     * Only the first {@link Polyline#getPointCount()} elements are points.
+     * The array is replaced when the {@link Polyline} grows.
+     *
+     * @return the y coordinates of the points
+     */
+    public double[] getYs() {
+        return ys;
+    }
+
+    /**
+     * Returns the array of u values.
+     * Only the first {@link Polyline#getPointCount()} elements are points.
+     * The array is replaced when the {@link Polyline} grows.
+     *
+     * @return the u values of the points
+     */
+    public double[] getUs() {
+        return us;
+    }
+
+    /**
+     * Paints this {@link Polyline} one segment at a time
+     * using the given {@link Graphics2D} object.
+     * One line is reused for all of them.
+     * On the software pipeline that the curve is drawn with,
+     * this is faster than stroking a single path through the points,
+     * as {@link main.PaintComparison} shows.
+     *
+     * @param g the {@link Graphics2D} object to use
+     */
+    public void paint(final Graphics2D g) {
+        Line2D.Double line = new Line2D.Double();
+        for (int i = 1; i < size; i++) {
+            line.setLine(xs[i - 1], ys[i - 1], xs[i], ys[i]);
+            g.draw(line);
+        }
+    }
+
+}
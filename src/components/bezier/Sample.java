@@ -2,22 +2,25 @@ package components.bezier;
 
 import java.awt.Graphics2D;
 import java.awt.Color;
-import java.awt.Point;
-import java.awt.geom.Point2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
 
-import static main.Application.APP;
 import static main.Main.CONFIG;
 
 /**
  * Represents a sample point on a {@link components.BezierCurve}.
  * A sample may have it's tangent and curvature vector active.
+ * A {@link Sample} is only a view of one index of a {@link SampleSet},
+ * which holds the positions, derivatives and active vectors of all of them.
+ * So the samples are painted from the {@link SampleSet} as a whole,
+ * and a {@link Sample} is only made for the one that is clicked,
+ * which {@link SampleSet#find(double, double, double)} finds.
  *
  * @author 150009974
- * @version 1.1
+ * @version 1.8
  */
-public class Sample extends Point2D.Double {
+public class Sample {
 
     /** The {@link Color} of the tangent to a {@link Sample}. */
     private static final Color TANGENT_COLOR = CONFIG.getColor("tangent");
@@ -31,100 +34,56 @@ public class Sample extends Point2D.Double {
     /** The radius of the sample points. */
     private static final int RADIUS = CONFIG.getAnyInt("sample point radius");
 
-    /** The id of this {@link Sample} that is drawn next to it. */
-    private final String uniqueID;
+    /** The most digits an id can have. */
+    private static final int MAX_DIGITS = 10;
 
-    /** The tangent to this {@link Sample}. */
-    private Line2D.Double tangent;
-
-    /** The line representing the curvature vector from this {@link Sample}. */
-    private Line2D.Double curvature;
-
-    /** Tells whether the tangent is to be drawn on the screen. */
-    private boolean tangentActivated = APP.tangentsAreVisible();
-
-    /** Tells whether the curvature is to be drawn on the screen. */
-    private boolean curvatureActivated = APP.curvaturesAreVisible();
+    /** The samples of the curve, which this {@link Sample} is one of. */
+    private final SampleSet samples;
 
     /**
-     * Creates a {@link Sample} at the end of the specified segment.
-     *
-     * @param segment the segment to be sampled
-     * @param id      the unique id of this {@link Sample}
+     * The index of this {@link Sample} in the {@link Sample#samples},
+     * also its unique id.
      */
-    public Sample(final CurveSegment segment, final int id) {
-        super(segment.getX2(), segment.getY2());
-        uniqueID = String.valueOf(id);
-        initializeTangent(segment.getTangentVector());
-        initializeCurvature(segment.getCurvatureVector());
-    }
+    private final int index;
 
     /**
-     * Initializes the tangent line such that
-     * it passes through this {@link Sample}
-     * and goes in the direction specified by the tangent vector.
-     * It is assumed that the vector originates at this {@link Sample}.
-     * So one end of the line is equal to the sum of
-     * this {@link Sample} and the specified vector.
+     * Creates a view of one of the given samples of a curve.
      *
-     * @param tangentVector the direction of the line
+     * @param samples the samples of the curve
+     * @param index   the index of the sample, also its unique id
      */
-    private void initializeTangent(final Point2D.Double tangentVector) {
-        // Note that the vector originates at this point, so
-        // in order to draw the tangent line, we need to add the two together
-        double x1 = this.x + tangentVector.x;
-        double y1 = this.y + tangentVector.y;
-
-        // This calculation finds a point(x2, y2) such that
-        // the average of (x2, y2) and (x1, y1) is this Sample.
-        // This way this Sample is in the middle of
-        // the line from (x1, y1) to (x2, y2).
-        double x2 = 2 * this.x - x1;
-        double y2 = 2 * this.y - y1;
-        tangent = new Line2D.Double(x1, y1, x2, y2);
+    public Sample(final SampleSet samples, final int index) {
+        this.samples = samples;
+        this.index = index;
     }
 
-    /**
-     * Initializes the curvature line such that
-     * it passes through this {@link Sample}
-     * and goes in the direction specified by the curvature vector.
-     * It is assumed that the vector originates at this {@link Sample}.
-     * So one end of the line is equal to the sum of
-     * this {@link Sample} and the specified vector.
-     *
-     * @param curvatureVector the direction of the line
-     */
-    private void initializeCurvature(final Point2D.Double curvatureVector) {
-        // Note that the vector originates at this point, so
-        // in order to draw the curvature line, we need to add the two together
-        double x1 = this.x + curvatureVector.x;
-        double y1 = this.y + curvatureVector.y;
-        curvature = new Line2D.Double(x1, y1, this.x, this.y);
+    /** @return the radius of the sample points */
+    public static int getRadius() {
+        return RADIUS;
     }
 
-    /**
-     * Tells whether the specified {@link Point} is within this {@link Sample}.
-     * That happens if the distance
-     * from this {@link Sample} to the specified {@link Point}
-     * is less then or equal to the radius of a sample.
-     *
-     * @param clicked the {@link Point} to check
-     * @return true iff
-     * the specified {@link Point} is inside this {@link Sample}
-     * @see Sample#RADIUS
-     */
-    public boolean contains(final Point clicked) {
-        return distance(x, y, clicked.x, clicked.y) <= RADIUS;
+    /** @return the x coordinate of this {@link Sample} */
+    public double getX() {
+        return samples.getX(index);
+    }
+
+    /** @return the y coordinate of this {@link Sample} */
+    public double getY() {
+        return samples.getY(index);
     }
 
     /** Toggles the active state of the tangent vector. */
     public void toggleTangent() {
-        tangentActivated = !tangentActivated;
+        synchronized (samples) {
+            setTangentActivated(!samples.isTangentActivated(index));
+        }
     }
 
     /** Toggles the active state of the curvature vector. */
     public void toggleCurvature() {
-        curvatureActivated = !curvatureActivated;
+        synchronized (samples) {
+            setCurvatureActivated(!samples.isCurvatureActivated(index));
+        }
     }
 
     /**
@@ -133,7 +92,7 @@ public class Sample extends Point2D.Double {
      * @param active whether the tangent should be drawn
      */
     public void setTangentActivated(final boolean active) {
-        this.tangentActivated = active;
+        samples.setTangentActivated(index, active);
     }
 
     /**
@@ -142,7 +101,7 @@ public class Sample extends Point2D.Double {
      * @param active whether the curvature should be drawn
      */
     public void setCurvatureActivated(final boolean active) {
-        this.curvatureActivated = active;
+        samples.setCurvatureActivated(index, active);
     }
 
     /**
@@ -154,36 +113,125 @@ public class Sample extends Point2D.Double {
      */
     @Override
     public String toString() {
-        return "(" + x + ", " + y + ")";
+        return "(" + getX() + ", " + getY() + ")";
     }
 
     /**
-     * Paints this {@link Sample} using the given {@link Graphics2D} object.
+     * Paints every one of the given samples
+     * using the given {@link Graphics2D} object.
+     * One circle is reused for all of them.
      *
-     * @param g the {@link Graphics2D} object to use
+     * @param g       the {@link Graphics2D} object to use
+     * @param samples the samples to paint
      */
-    public void paint(final Graphics2D g) {
+    public static void paint(final Graphics2D g, final SampleSet samples) {
         g.setColor(COLOR);
-
-        double arcX = this.x - RADIUS;
-        double arcY = this.y - RADIUS;
         int diameter = RADIUS * 2;
+        Ellipse2D.Double circle = new Ellipse2D.Double();
+        for (int i = 0; i < samples.getCount(); i++) {
+            circle.setFrame(samples.getX(i) - RADIUS,
+                    samples.getY(i) - RADIUS, diameter, diameter);
+            g.fill(circle);
+        }
+    }
 
-        if (APP.samplesAreVisible()) {
-            g.fill(new Ellipse2D.Double(arcX, arcY, diameter, diameter));
+    /**
+     * Paints the id of every one of the given samples next to it
+     * using the given {@link Graphics2D} object.
+     * The digits of each index are written into one reused array,
+     * so no {@link String} is made per sample.
+     *
+     * @param g       the {@link Graphics2D} object to use
+     * @param samples the samples whose ids to paint
+     */
+    public static void paintIDs(final Graphics2D g, final SampleSet samples) {
+        g.setColor(COLOR);
+        char[] digits = new char[MAX_DIGITS];
+        for (int i = 0; i < samples.getCount(); i++) {
+            int start = MAX_DIGITS;
+            int rest = i;
+            do {
+                digits[--start] = (char) ('0' + rest % 10);
+                rest /= 10;
+            } while (rest > 0);
+            double arcX = samples.getX(i) - RADIUS;
+            double arcY = samples.getY(i) - RADIUS;
+            g.drawChars(digits, start, MAX_DIGITS - start,
+                    (int) Math.round(arcX + RADIUS * 2),
+                    (int) Math.round(arcY));
         }
+    }
 
-        if (APP.sampleIDsAreVisible()) {
-            g.drawString(uniqueID, (float) (arcX + diameter), (float) arcY);
+    /**
+     * Paints the activated tangents of the given samples
+     * using the given {@link Graphics2D} object.
+     * Each tangent is a line through its sample,
+     * which is in the middle of the line.
+     * One line is reused for all of them.
+     *
+     * @param g        the {@link Graphics2D} object to use
+     * @param samples  the samples whose tangents to paint
+     * @param settings the length of the tangents
+     */
+    public static void paintTangents(final Graphics2D g,
+                                     final SampleSet samples,
+                                     final CurveSettings settings) {
+        g.setColor(TANGENT_COLOR);
+        double length = settings.getTangentLength();
+        Line2D.Double line = new Line2D.Double();
+        for (int i = samples.nextTangentActivated(0); i >= 0;
+             i = samples.nextTangentActivated(i + 1)) {
+            double x = samples.getX(i);
+            double y = samples.getY(i);
+            double dx = samples.getTangentX(i) * length;
+            double dy = samples.getTangentY(i) * length;
+            line.setLine(x + dx, y + dy, x - dx, y - dy);
+            g.draw(line);
         }
+    }
 
-        if (tangentActivated) {
-            g.setColor(TANGENT_COLOR);
-            g.draw(tangent);
+    /**
+     * Paints the activated curvatures of the given samples
+     * using the given {@link Graphics2D} object.
+     * In a comb, the ends of the curvatures are joined by an outline,
+     * which is broken wherever a curvature is not activated.
+     * One line is reused for all of them.
+     *
+     * @param g        the {@link Graphics2D} object to use
+     * @param samples  the samples whose curvatures to paint
+     * @param settings the lengths of the curvatures, and whether they form
+     *                 a comb
+     */
+    public static void paintCurvatures(final Graphics2D g,
+                                       final SampleSet samples,
+                                       final CurveSettings settings) {
+        g.setColor(CURVATURE_COLOR);
+        Line2D.Double line = new Line2D.Double();
+        boolean comb = settings.isComb();
+        Path2D.Double outline = new Path2D.Double();
+        int previous = -2;
+        for (int i = samples.nextCurvatureActivated(0); i >= 0;
+             i = samples.nextCurvatureActivated(i + 1)) {
+            double x = samples.getX(i);
+            double y = samples.getY(i);
+            double signed = samples.getCurvature(i);
+            double length = settings.getCurvatureLength(signed)
+                    * Curvature.normalSide(signed);
+            double endX = x - samples.getTangentY(i) * length;
+            double endY = y + samples.getTangentX(i) * length;
+            line.setLine(endX, endY, x, y);
+            g.draw(line);
+            if (!comb) {
+                continue;
+            } else if (previous == i - 1) {
+                outline.lineTo(endX, endY);
+            } else {
+                outline.moveTo(endX, endY);
+            }
+            previous = i;
         }
-        if (curvatureActivated) {
-            g.setColor(CURVATURE_COLOR);
-            g.draw(curvature);
+        if (comb) {
+            g.draw(outline);
         }
     }
 
@@ -0,0 +1,371 @@
+package components.bezier;
+
+import components.bezier.events.DerivativeEvent;
+
+import java.awt.geom.Point2D;
+import java.util.BitSet;
+import java.util.StringJoiner;
+
+/**
+ * Holds points placed at equal distances along a curve,
+ * with the first two derivatives of the curve at each of them.
+ * Everything is kept in arrays of primitives,
+ * so a {@link SampleSet} can be made for many curves
+ * without creating objects per point.
+ * Only the positions are evaluated up front.
+ * The derivatives are evaluated when they are first needed,
+ * either all at once or one sample at a time,
+ * and kept for as long as the {@link SampleSet} is.
+ * Their arrays are only allocated then too.
+ * The derivatives may be needed from several threads at once.
+ * Each evaluation of them is recorded as a {@link DerivativeEvent},
+ * and evaluating all of them is timed by its {@link Phase} too.
+ * Whether the tangent and curvature of each sample are shown
+ * is kept here as well, one bit per sample,
+ * so that a {@link Sample} is only a view of one index.
+ *
+ * @author 150009974
+ * @version 1.6
+ */
+public final class SampleSet {
+
+    /** Evaluates the curve, null if there are no samples. */
+    private final CurveEvaluator evaluator;
+
+    /** The length of the curve. */
+    private final double length;
+
+    /** The u values of the samples. */
+    private final double[] us;
+
+    /** The x coordinates of the samples. */
+    private final double[] xs;
+
+    /** The y coordinates of the samples. */
+    private final double[] ys;
+
+    /** The x components of the first derivatives, null until needed. */
+    private double[] firstXs;
+
+    /** The y components of the first derivatives, null until needed. */
+    private double[] firstYs;
+
+    /** The x components of the second derivatives, null until needed. */
+    private double[] secondXs;
+
+    /** The y components of the second derivatives, null until needed. */
+    private double[] secondYs;
+
+    /** The samples whose derivatives have been evaluated. */
+    private final BitSet evaluated = new BitSet();
+
+    /** Whether the derivatives of every sample have been evaluated. */
+    private boolean allEvaluated;
+
+    /** The samples whose tangents are shown. */
+    private final BitSet tangentsActivated = new BitSet();
+
+    /** The samples whose curvatures are shown. */
+    private final BitSet curvaturesActivated = new BitSet();
+
+    /** Finds the sample under a location, null until it is needed. */
+    private PointGrid grid;
+
+    /** The radius the {@link SampleSet#grid} was built for. */
+    private double gridRadius;
+
+    /**
+     * Samples a curve uniformly.
+     * The samples are placed at equal distances along the curve,
+     * each found by inverting the {@link ArcLength}.
+     * Their points are then evaluated in a batch.
+     * The evaluator is kept to evaluate the derivatives later,
+     * so it must not be changed afterwards.
+     *
+     * @param evaluator       the evaluator of the curve
+     * @param arcLength       the measured arc length of the curve
+     * @param numberOfSamples the amount of samples to make
+     */
+    public SampleSet(final CurveEvaluator evaluator,
+                     final ArcLength arcLength, final int numberOfSamples) {
+        this.evaluator = evaluator;
+        length = arcLength.getLength();
+        // The distance between two consecutive samples.
+        double sampleDist = length / (numberOfSamples + 1d);
+        us = new double[numberOfSamples];
+        for (int i = 0; i < numberOfSamples; i++) {
+            us[i] = arcLength.parameterAt((i + 1) * sampleDist);
+        }
+        xs = new double[numberOfSamples];
+        ys = new double[numberOfSamples];
+        evaluator.evaluate(us, xs, ys);
+    }
+
+    /**
+     * Creates a {@link SampleSet} with the same samples as the given one,
+     * but with none of their derivatives evaluated or vectors shown.
+     * The positions are shared, since they are never modified.
+     *
+     * @param samples the samples to copy
+     */
+    public SampleSet(final SampleSet samples) {
+        evaluator = samples.evaluator;
+        length = samples.length;
+        us = samples.us;
+        xs = samples.xs;
+        ys = samples.ys;
+    }
+
+    /** Creates an empty {@link SampleSet} for a curve of no length. */
+    public SampleSet() {
+        evaluator = null;
+        length = 0;
+        us = new double[0];
+        xs = us;
+        ys = us;
+    }
+
+    /** Allocates the arrays of the derivatives, unless that has been done. */
+    private void allocateDerivatives() {
+        if (firstXs == null) {
+            firstXs = new double[us.length];
+            firstYs = new double[us.length];
+            secondXs = new double[us.length];
+            secondYs = new double[us.length];
+        }
+    }
+
+    /**
+     * Evaluates the derivatives of every sample in batches,
+     * unless that has been done already.
+     * This is faster than evaluating them one sample at a time
+     * when most of them are needed.
+     */
+    public synchronized void evaluateDerivatives() {
+        if (allEvaluated) {
+            return;
+        }
+        if (us.length > 0) {
+            DerivativeEvent event = new DerivativeEvent();
+            event.begin();
+            long start = System.nanoTime();
+            allocateDerivatives();
+            evaluator.evaluateTangents(us, firstXs, firstYs);
+            evaluator.evaluateSecondDerivatives(us, secondXs, secondYs);
+            Phase.EVALUATE_DERIVATIVES.stop(start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.degree = evaluator.getDegree();
+                event.u = Double.NaN;
+                event.pointCount = us.length;
+                event.commit();
+            }
+        }
+        allEvaluated = true;
+    }
+
+    /**
+     * Evaluates the derivatives of one sample,
+     * unless that has been done already.
+     *
+     * @param i the index of the sample
+     */
+    private synchronized void evaluateDerivatives(final int i) {
+        if (allEvaluated || evaluated.get(i)) {
+            return;
+        }
+        DerivativeEvent event = new DerivativeEvent();
+        event.begin();
+        allocateDerivatives();
+        Point2D.Double first = evaluator.calculateTangent(us[i]);
+        Point2D.Double second = evaluator.calculateSecondDerivative(us[i]);
+        firstXs[i] = first.x;
+        firstYs[i] = first.y;
+        secondXs[i] = second.x;
+        secondYs[i] = second.y;
+        evaluated.set(i);
+        event.end();
+        if (event.shouldCommit()) {
+            event.degree = evaluator.getDegree();
+            event.u = us[i];
+            event.pointCount = 1;
+            event.commit();
+        }
+    }
+
+    /** @return the length of the curve */
+    public double getLength() {
+        return length;
+    }
+
+    /** @return the number of samples */
+    public int getCount() {
+        return us.length;
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the u value of that sample
+     */
+    public double getU(final int i) {
+        return us[i];
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the x coordinate of that sample
+     */
+    public double getX(final int i) {
+        return xs[i];
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the y coordinate of that sample
+     */
+    public double getY(final int i) {
+        return ys[i];
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the x component of the unit tangent, 0 where it is undefined
+     */
+    public synchronized double getTangentX(final int i) {
+        evaluateDerivatives(i);
+        double speed = Math.hypot(firstXs[i], firstYs[i]);
+        return speed == 0 ? 0 : firstXs[i] / speed;
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the y component of the unit tangent, 0 where it is undefined
+     */
+    public synchronized double getTangentY(final int i) {
+        evaluateDerivatives(i);
+        double speed = Math.hypot(firstXs[i], firstYs[i]);
+        return speed == 0 ? 0 : firstYs[i] / speed;
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return the signed curvature at that sample
+     * @see Curvature#signed(double, double, double, double)
+     */
+    public synchronized double getCurvature(final int i) {
+        evaluateDerivatives(i);
+        return Curvature.signed(firstXs[i], firstYs[i],
+                secondXs[i], secondYs[i]);
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return whether the tangent of that sample is shown
+     */
+    public synchronized boolean isTangentActivated(final int i) {
+        return tangentsActivated.get(i);
+    }
+
+    /**
+     * @param i the index of a sample
+     * @return whether the curvature of that sample is shown
+     */
+    public synchronized boolean isCurvatureActivated(final int i) {
+        return curvaturesActivated.get(i);
+    }
+
+    /**
+     * @param from the index to start from
+     * @return the index of the first sample from there whose tangent
+     * is shown, or -1 if there is none
+     */
+    public synchronized int nextTangentActivated(final int from) {
+        return tangentsActivated.nextSetBit(from);
+    }
+
+    /**
+     * @param from the index to start from
+     * @return the index of the first sample from there whose curvature
+     * is shown, or -1 if there is none
+     */
+    public synchronized int nextCurvatureActivated(final int from) {
+        return curvaturesActivated.nextSetBit(from);
+    }
+
+    /**
+     * Sets whether the tangent of a sample is shown.
+     *
+     * @param i      the index of the sample
+     * @param active whether the tangent should be shown
+     */
+    public synchronized void setTangentActivated(final int i,
+                                                 final boolean active) {
+        tangentsActivated.set(i, active);
+    }
+
+    /**
+     * Sets whether the curvature of a sample is shown.
+     *
+     * @param i      the index of the sample
+     * @param active whether the curvature should be shown
+     */
+    public synchronized void setCurvatureActivated(final int i,
+                                                   final boolean active) {
+        curvaturesActivated.set(i, active);
+    }
+
+    /**
+     * Sets whether the tangents of every sample are shown.
+     *
+     * @param active whether the tangents should be shown
+     */
+    public synchronized void setTangentsActivated(final boolean active) {
+        tangentsActivated.set(0, us.length, active);
+    }
+
+    /**
+     * Sets whether the curvatures of every sample are shown.
+     *
+     * @param active whether the curvatures should be shown
+     */
+    public synchronized void setCurvaturesActivated(final boolean active) {
+        curvaturesActivated.set(0, us.length, active);
+    }
+
+    /**
+     * Finds a sample within the given radius of a location.
+     * The samples are put in a {@link PointGrid} the first time,
+     * and again only if the radius changes.
+     *
+     * @param x      the x coordinate of the location
+     * @param y      the y coordinate of the location
+     * @param radius the largest distance from the location
+     * @return the index of the sample, or -1 if there is none
+     */
+    public synchronized int find(final double x, final double y,
+                                 final double radius) {
+        if (grid == null || gridRadius != radius) {
+            grid = new PointGrid(xs, ys, radius);
+            gridRadius = radius;
+        }
+        return grid.find(x, y,
+                i -> Point2D.distance(xs[i], ys[i], x, y) <= radius);
+    }
+
+    /**
+     * Returns a {@link String} representation of the samples as
+     * the coordinates of each, in parentheses, separated by commas,
+     * and enclosed in brackets.
+     *
+     * @return the coordinates of the samples
+     */
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < us.length; i++) {
+            joiner.add("(" + xs[i] + ", " + ys[i] + ")");
+        }
+        return joiner.toString();
+    }
+
+}
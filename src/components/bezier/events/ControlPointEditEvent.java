@@ -0,0 +1,34 @@
+package components.bezier.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the control points are added, moved, or removed,
+ * and the curve is sent to be calculated again.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+@Name("components.bezier.ControlPointEdit")
+@Label("Control Point Edit")
+@Category({"Bezier Curves", "Editing"})
+@Description("Control points were added, moved, or removed")
+public final class ControlPointEditEvent extends Event {
+
+    /** The kind of edit: add, move, remove, clear, or resample. */
+    @Label("Edit")
+    public String edit;
+
+    /** The number of control points after the edit. */
+    @Label("Control Points")
+    public int controlPointCount;
+
+    /** The number of samples that are requested. */
+    @Label("Samples")
+    public int sampleCount;
+
+}
@@ -0,0 +1,35 @@
+package components.bezier.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the derivatives of the curve are evaluated
+ * to make tangent and curvature vectors,
+ * either at one point or at every sample of a curve at once.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+@Name("components.bezier.Derivative")
+@Label("Derivative")
+@Category({"Bezier Curves", "Calculation"})
+@Description("The derivatives at one or more points were evaluated")
+public final class DerivativeEvent extends Event {
+
+    /** The degree of the curve, or of its spans. */
+    @Label("Degree")
+    public int degree;
+
+    /** The u value of the point, or NaN for several points. */
+    @Label("U")
+    public double u;
+
+    /** The number of points whose derivatives were evaluated. */
+    @Label("Points")
+    public int pointCount;
+
+}
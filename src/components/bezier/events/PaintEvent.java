@@ -0,0 +1,33 @@
+package components.bezier.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the canvas with the curve is painted.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+@Name("components.bezier.Paint")
+@Label("Paint")
+@Category({"Bezier Curves", "Rendering"})
+@Description("The canvas with the curve was painted")
+public final class PaintEvent extends Event {
+
+    /** The number of control points. */
+    @Label("Control Points")
+    public int controlPointCount;
+
+    /** The number of segments in the poly line. */
+    @Label("Segments")
+    public int segmentCount;
+
+    /** The number of samples. */
+    @Label("Samples")
+    public int sampleCount;
+
+}
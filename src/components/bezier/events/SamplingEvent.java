@@ -0,0 +1,36 @@
+package components.bezier.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the curve is measured and sampled uniformly.
+ * It covers measuring the arc length and evaluating the positions
+ * of the samples. Their derivatives are evaluated later,
+ * when they are needed, and recorded as {@link DerivativeEvent}s.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+@Name("components.bezier.Sampling")
+@Label("Arc Length Sampling")
+@Category({"Bezier Curves", "Calculation"})
+@Description("The curve was measured and sampled at equal distances")
+public final class SamplingEvent extends Event {
+
+    /** The degree of the curve, or of its spans. */
+    @Label("Degree")
+    public int degree;
+
+    /** The number of samples made. */
+    @Label("Samples")
+    public int sampleCount;
+
+    /** The length of the curve. */
+    @Label("Length")
+    public double length;
+
+}
@@ -0,0 +1,37 @@
+package components.bezier.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded when the poly line of the curve is created.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+@Name("components.bezier.Tessellation")
+@Label("Tessellation")
+@Category({"Bezier Curves", "Calculation"})
+@Description("The poly line of the curve was created")
+public final class TessellationEvent extends Event {
+
+    /** The degree of the curve, or of its spans. */
+    @Label("Degree")
+    public int degree;
+
+    /** The number of control points. */
+    @Label("Control Points")
+    public int controlPointCount;
+
+    /** The number of points in the poly line. */
+    @Label("Resolution")
+    public int resolution;
+
+    /** Whether the last poly line was reused or shifted. */
+    @Label("Reused")
+    public boolean reused;
+
+}
@@ -0,0 +1,5 @@
+/**
+ * This package provides the Java Flight Recorder events
+ * of editing, calculating, and painting the curve.
+ */
+package components.bezier.events;
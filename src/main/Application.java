@@ -19,7 +19,7 @@ import static main.Main.CONFIG;
  * Represents an interactive window of the system.
  *
  * @author 150009974
- * @version 2.1
+ * @version 2.2
  */
 public final class Application extends JDialog {
 
@@ -98,6 +98,7 @@ public final class Application extends JDialog {
         board.addSwitch("Control Point IDs", true);
         board.addSwitch("Samples", false);
         board.addSwitch("Sample IDs", false);
+        board.addSwitch("Timings", false);
 
         int x = PANE.getX() + PANE.getWidth();
         int y = sampleInput.getY() + sampleInput.getHeight();
@@ -138,6 +139,11 @@ public final class Application extends JDialog {
         return board.isOn("Samples");
     }
 
+    /** @return true iff the timings of the phases should be drawn */
+    public boolean timingsAreVisible() {
+        return board.isOn("Timings");
+    }
+
     /** @return true iff the segments of the curve should NOT be drawn */
     public boolean segmentsAreInvisible() {
         return !board.isOn("Bezier Curve");
@@ -0,0 +1,249 @@
+package main;
+
+import components.bezier.CurveCalculator;
+import components.bezier.CurveEvaluator;
+import components.bezier.CurveSettings;
+import components.bezier.Polyline;
+import components.bezier.SampleSet;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static main.Main.CONFIG;
+
+/**
+ * Calculates curves without a window.
+ * Control points are read one curve per line,
+ * as x and y coordinates separated by spaces or commas.
+ * Blank lines and lines starting with # are skipped.
+ * For each curve, its poly line and equally spaced samples,
+ * with their unit tangents and signed curvatures, are written out:
+ * <pre>
+ * curve [index] [control points] [length]
+ * point [x] [y] [u]
+ * sample [x] [y] [u] [tangent x] [tangent y] [curvature]
+ * </pre>
+ * Curves are calculated in parallel, but written in the order they are read.
+ * Only a bounded number of curves is read ahead,
+ * so inputs of any length are streamed.
+ *
+ * @author 150009974
+ * @version 1.2
+ */
+public final class BatchCurves {
+
+    /** The name of the input or output that means the standard streams. */
+    private static final String STANDARD_STREAM = "-";
+
+    /** The settings the curves are calculated with. */
+    private static final CurveSettings SETTINGS =
+            new CurveSettings(CONFIG, CONFIG.getAnyInt("window width"));
+
+    /** The calculator of each thread, as they are not thread safe. */
+    private static final ThreadLocal<CurveCalculator> CALCULATOR =
+            ThreadLocal.withInitial(() -> new CurveCalculator(SETTINGS));
+
+    /** Hides the constructor for this utility class. */
+    private BatchCurves() {
+    }
+
+    /**
+     * Calculates every curve of the input and writes them to the output.
+     * The optional arguments are the input file and the output file,
+     * either of which is the standard stream if it is missing or "-".
+     *
+     * @param args the input file and the output file
+     * @throws IOException if the input cannot be read
+     *                     or the output cannot be written
+     */
+    public static void main(final String[] args) throws IOException {
+        String input = args.length > 0 ? args[0] : STANDARD_STREAM;
+        String output = args.length > 1 ? args[1] : STANDARD_STREAM;
+        try (InputStream in = input.equals(STANDARD_STREAM)
+                ? System.in : new FileInputStream(input);
+             OutputStream out = output.equals(STANDARD_STREAM)
+                     ? System.out : new FileOutputStream(output)) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(in, StandardCharsets.UTF_8));
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            process(reader, writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Calculates the curves of every line that is read
+     * and writes them in the same order.
+     *
+     * @param reader supplies the lines of control points
+     * @param writer receives the calculated curves
+     * @throws IOException if reading or writing fails
+     */
+    private static void process(final BufferedReader reader,
+                                final Writer writer) throws IOException {
+        int threads = CONFIG.getAnyInt("batch threads");
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        int inFlight = Math.max(1, CONFIG.getAnyInt("batch curves in flight"));
+        int numberOfSamples = CONFIG.getAnyInt("batch number of samples");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<String>> queue = new ArrayDeque<>();
+        try {
+            int index = 0;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                double[][] points = parse(line, lineNumber);
+                int curve = index++;
+                queue.add(executor.submit(() -> calculate(curve,
+                        points[0], points[1], numberOfSamples)));
+                if (queue.size() >= inFlight) {
+                    writer.write(take(queue));
+                }
+            }
+            while (!queue.isEmpty()) {
+                writer.write(take(queue));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for the oldest curve to be calculated.
+     *
+     * @param queue the curves being calculated, oldest first
+     * @return the text of the oldest curve
+     * @throws IOException if the calculation was interrupted
+     */
+    private static String take(final ArrayDeque<Future<String>> queue)
+            throws IOException {
+        try {
+            return queue.remove().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calculating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Reads the control points of a line.
+     *
+     * @param line       the coordinates, separated by spaces or commas
+     * @param lineNumber the number of the line, for error messages
+     * @return the x coordinates and the y coordinates
+     * @throws IllegalArgumentException if the line has an odd number
+     *                                  of coordinates or one is not a number
+     */
+    private static double[][] parse(final String line, final int lineNumber) {
+        String[] tokens = line.split("[\\s,]+");
+        if (tokens.length % 2 != 0) {
+            throw new IllegalArgumentException("Line " + lineNumber
+                    + " has an odd number of coordinates");
+        }
+        int n = tokens.length / 2;
+        double[][] points = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            points[0][i] = parseCoordinate(tokens[2 * i], lineNumber);
+            points[1][i] = parseCoordinate(tokens[2 * i + 1], lineNumber);
+        }
+        return points;
+    }
+
+    /**
+     * Reads one coordinate of a line.
+     *
+     * @param token      the text of the coordinate
+     * @param lineNumber the number of the line, for error messages
+     * @return the coordinate
+     * @throws IllegalArgumentException if the token is not a number
+     */
+    private static double parseCoordinate(final String token,
+                                          final int lineNumber) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber
+                    + " has a coordinate that is not a number: \""
+                    + token + "\"", e);
+        }
+    }
+
+    /**
+     * Calculates a curve and formats it.
+     *
+     * @param index           the index of the curve in the input
+     * @param x               the x coordinates of the control points
+     * @param y               the y coordinates of the control points
+     * @param numberOfSamples the amount of samples to make
+     * @return the lines describing the curve
+     */
+    private static String calculate(final int index, final double[] x,
+                                    final double[] y,
+                                    final int numberOfSamples) {
+        CurveCalculator calculator = CALCULATOR.get();
+        CurveEvaluator evaluator = calculator.createEvaluator(x, y);
+        Polyline polyline = calculator.tessellate(x, y, evaluator);
+        SampleSet samples = new SampleSet();
+        if (x.length >= 2) {
+            samples = calculator.sample(evaluator, numberOfSamples);
+            samples.evaluateDerivatives();
+        }
+
+        StringBuilder text = new StringBuilder();
+        text.append("curve ").append(index).append(' ').append(x.length);
+        line(text, "", samples.getLength());
+        double[] xs = polyline.getXs();
+        double[] ys = polyline.getYs();
+        double[] us = polyline.getUs();
+        for (int i = 0; i < polyline.getPointCount(); i++) {
+            line(text, "point", xs[i], ys[i], us[i]);
+        }
+        for (int i = 0; i < samples.getCount(); i++) {
+            line(text, "sample", samples.getX(i), samples.getY(i),
+                    samples.getU(i), samples.getTangentX(i),
+                    samples.getTangentY(i), samples.getCurvature(i));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Appends the end of a line of values separated by spaces.
+     *
+     * @param text   the text to append to
+     * @param kind   the first word of the line, or "" to continue a line
+     * @param values the values that follow it
+     */
+    private static void line(final StringBuilder text, final String kind,
+                             final double... values) {
+        text.append(kind);
+        for (double value : values) {
+            text.append(' ').append(value);
+        }
+        text.append('\n');
+    }
+
+}
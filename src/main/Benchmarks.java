@@ -0,0 +1,279 @@
+package main;
+
+import components.bezier.Combinatorics;
+import components.bezier.CurveCalculator;
+import components.bezier.CurveEvaluator;
+import components.bezier.CurveSettings;
+import components.bezier.CurveState;
+import components.bezier.Sample;
+import components.bezier.SampleSet;
+import util.PrintFormatting;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+
+import static main.Main.CONFIG;
+
+/**
+ * Measures the hot paths of the curve calculation and painting,
+ * to give every change to their performance a baseline to compare with.
+ * Each benchmark is warmed up, then run for several timed rounds,
+ * of which the fastest is reported.
+ * The bytes allocated per operation are measured on the running thread,
+ * and the garbage collections during all the rounds are counted.
+ * The curves are calculated with the settings of settings.props,
+ * and painted onto an offscreen image, so this runs without a display.
+ *
+ * @author 150009974
+ * @version 1.3
+ */
+public final class Benchmarks {
+
+    /** The size of the image that is painted on. */
+    private static final int SIZE = 800;
+
+    /** The time, in nanoseconds, each benchmark is warmed up for. */
+    private static final long WARM_UP_NANOS = 1_000_000_000L;
+
+    /** The time, in nanoseconds, of a timed round. */
+    private static final long ROUND_NANOS = 200_000_000L;
+
+    /** The number of timed rounds, of which the fastest is reported. */
+    private static final int ROUNDS = 5;
+
+    /** The number of operations between checks of the clock. */
+    private static final int BATCH = 16;
+
+    /** The number of nanoseconds in a second. */
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    /** The number of bytes in a megabyte. */
+    private static final double BYTES_PER_MEGABYTE = 1 << 20;
+
+    /** The u value the single point benchmarks are run at. */
+    private static final double U = 0.37;
+
+    /** The degrees of the curves that are calculated. */
+    private static final int[] DEGREES = {3, 15, 100};
+
+    /** The resolutions of the poly lines that are calculated. */
+    private static final int[] RESOLUTIONS = {500, 2000};
+
+    /** The numbers of samples that are made. */
+    private static final int[] SAMPLE_COUNTS = {10, 100, 1000};
+
+    /** The number of samples whose derivatives are evaluated. */
+    private static final int DERIVED_SAMPLES = 100;
+
+    /** The degree of the curve that is sampled and painted. */
+    private static final int SAMPLED_DEGREE = 15;
+
+    /** The settings the curves are calculated with. */
+    private static final CurveSettings SETTINGS =
+            new CurveSettings(CONFIG, CONFIG.getAnyInt("window width"));
+
+    /** The thread bean, which measures allocated bytes. */
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean)
+                    ManagementFactory.getThreadMXBean();
+
+    /** Collects the results so that they are not optimised away. */
+    private static double sink;
+
+    /** Only benchmarks whose names contain this are run. */
+    private static String filter = "";
+
+    /** Hides the constructor for this utility class. */
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks and prints their results.
+     * The optional argument runs only the benchmarks
+     * whose names contain it.
+     *
+     * @param args the part of the names of the benchmarks to run
+     */
+    public static void main(final String[] args) {
+        if (args.length > 0) {
+            filter = args[0];
+        }
+        PrintFormatting.print(String.format("%-46s %12s %12s %10s %4s",
+                "Benchmark", "ns/op", "B/op", "MB/s", "GCs"));
+
+        for (int n : new int[]{20, 40, 60}) {
+            int k = n / 2;
+            run("nChooseK n=" + n, () -> Combinatorics.nChooseK(n, k));
+        }
+        for (int n : new int[]{10, 100, 1000}) {
+            int i = n / 3;
+            run("bernsteinCoefficient n=" + n,
+                    () -> Combinatorics.bernsteinCoefficient(n, i, U));
+        }
+
+        for (int degree : DEGREES) {
+            double[][] points = createControlPoints(degree + 1);
+            for (int resolution : RESOLUTIONS) {
+                CurveCalculator calculator = new CurveCalculator(
+                        SETTINGS.withNumberOfPoints(resolution));
+                CurveEvaluator evaluator = calculator.createEvaluator(
+                        points[0], points[1]);
+                run("createCurve degree=" + degree + " points=" + resolution,
+                        () -> calculator.tessellate(points[0], points[1],
+                                evaluator).getPointCount());
+            }
+        }
+
+        CurveCalculator calculator = new CurveCalculator(SETTINGS);
+        double[][] sampled = createControlPoints(SAMPLED_DEGREE + 1);
+        CurveEvaluator evaluator =
+                calculator.createEvaluator(sampled[0], sampled[1]);
+        for (int samples : SAMPLE_COUNTS) {
+            run("sampleCurve samples=" + samples,
+                    () -> calculator.sample(evaluator, samples).getLength());
+        }
+
+        for (int degree : DEGREES) {
+            double[][] points = createControlPoints(degree + 1);
+            CurveEvaluator curve =
+                    calculator.createEvaluator(points[0], points[1]);
+            SampleSet samples = calculator.sample(curve, DERIVED_SAMPLES);
+            // A copy has no derivatives yet, so each run evaluates them all.
+            run("evaluateDerivatives degree=" + degree
+                    + " samples=" + DERIVED_SAMPLES, () -> {
+                SampleSet copy = new SampleSet(samples);
+                copy.evaluateDerivatives();
+                return copy.getCurvature(0);
+            });
+        }
+
+        BufferedImage image =
+                new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+        for (int samples : SAMPLE_COUNTS) {
+            CurveState state =
+                    calculator.calculate(sampled[0], sampled[1], samples);
+            state.getSampleSet().setTangentsActivated(true);
+            state.getSampleSet().setCurvaturesActivated(true);
+            run("paint samples=" + samples, () -> paint(image, state));
+        }
+        PrintFormatting.print("Sink: " + sink);
+    }
+
+    /**
+     * Warms up a benchmark, times it, and prints the fastest round.
+     *
+     * @param name      the name of the benchmark
+     * @param operation the operation to measure
+     */
+    private static void run(final String name,
+                            final DoubleSupplier operation) {
+        if (!name.contains(filter)) {
+            return;
+        }
+        measure(operation, WARM_UP_NANOS);
+        long collections = countCollections();
+        double fastest = Double.MAX_VALUE;
+        double bytes = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            long operations = measure(operation, ROUND_NANOS);
+            double time = (double) (System.nanoTime() - start) / operations;
+            double perOperation = (double)
+                    (THREADS.getCurrentThreadAllocatedBytes() - allocated)
+                    / operations;
+            if (time < fastest) {
+                fastest = time;
+                bytes = perOperation;
+            }
+        }
+        double rate = bytes * (NANOS_PER_SECOND / fastest)
+                / BYTES_PER_MEGABYTE;
+        PrintFormatting.print(String.format("%-46s %12.1f %12.1f %10.1f %4d",
+                name, fastest, bytes, rate,
+                countCollections() - collections));
+    }
+
+    /**
+     * Repeats an operation for at least the given time.
+     *
+     * @param operation the operation to repeat
+     * @param nanos     the time to repeat it for
+     * @return the number of times it was run
+     */
+    private static long measure(final DoubleSupplier operation,
+                                final long nanos) {
+        long end = System.nanoTime() + nanos;
+        long operations = 0;
+        double sum = 0;
+        do {
+            for (int i = 0; i < BATCH; i++) {
+                sum += operation.getAsDouble();
+            }
+            operations += BATCH;
+        } while (System.nanoTime() < end);
+        sink += sum;
+        return operations;
+    }
+
+    /** @return the number of garbage collections so far */
+    private static long countCollections() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Creates random control points, the same for every run.
+     *
+     * @param n the number of control points
+     * @return the x coordinates and the y coordinates
+     */
+    private static double[][] createControlPoints(final int n) {
+        Random random = new Random(n);
+        double[][] points = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            points[0][i] = random.nextDouble() * SIZE;
+            points[1][i] = random.nextDouble() * SIZE;
+        }
+        return points;
+    }
+
+    /**
+     * Paints a state onto the image as the window would:
+     * the curve, the samples, and their tangents and curvatures.
+     *
+     * @param image the image to paint on
+     * @param state the state to paint
+     * @return the number of samples painted
+     */
+    private static double paint(final BufferedImage image,
+                                final CurveState state) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, SIZE, SIZE);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            SampleSet samples = state.getSampleSet();
+            Sample.paint(g, samples);
+            Sample.paintTangents(g, samples, SETTINGS);
+            Sample.paintCurvatures(g, samples, SETTINGS);
+            g.setColor(Color.BLACK);
+            state.getPolyline().paint(g);
+        } finally {
+            g.dispose();
+        }
+        return state.getSampleCount();
+    }
+
+}
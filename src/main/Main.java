@@ -3,17 +3,22 @@ package main;
 import util.PrintFormatting;
 import util.GraphicsProps;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
 
 import static main.Application.APP;
 import static components.Pane.PANE;
 import static components.Pane.configureCanvas;
+import static components.bezier.BezierEngine.ENGINE;
+import static components.bezier.BezierEngine.OBJECT_NAME;
 
 /**
  * The main executable class.
  *
  * @author 150009974
- * @version 1.1
+ * @version 1.2
  */
 public final class Main {
 
@@ -36,6 +41,19 @@ public final class Main {
         APP.setVisible(true);
     }
 
+    /**
+     * Registers the statistics of the curve engine
+     * with the platform MBean server, so that JMX tools can read them.
+     */
+    private static void registerEngine() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(ENGINE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
     /** Hides the constructor for this utility class. */
     private Main() {
     }
@@ -47,6 +65,7 @@ public final class Main {
      * @param args the command line arguments (which get ignored)
      */
     public static void main(final String[] args) {
+        registerEngine();
         configureCanvas();
         PrintFormatting.print("Configured!", "Starting interaction...");
         startInteraction();
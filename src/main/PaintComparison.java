@@ -0,0 +1,175 @@
+package main;
+
+import components.bezier.BasisTable;
+import components.bezier.Polyline;
+import util.PrintFormatting;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Compares the time it takes to paint a curve
+ * one segment at a time and as a single path.
+ * Both are drawn anti-aliased onto an offscreen image,
+ * as the layers of the window are,
+ * so this runs without a display.
+ * Painting one segment at a time is the faster of the two there,
+ * which is why {@link Polyline#paint(Graphics2D)} does that.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class PaintComparison {
+
+    /** The size of the image that is painted on. */
+    private static final int SIZE = 800;
+
+    /** The number of frames painted each way before timing starts. */
+    private static final int WARM_UP_FRAMES = 500;
+
+    /** The number of frames in a timed round. */
+    private static final int TIMED_FRAMES = 100;
+
+    /** The number of timed rounds, of which the fastest is reported. */
+    private static final int ROUNDS = 5;
+
+    /** The default number of control points. */
+    private static final int DEFAULT_CONTROL_POINTS = 30;
+
+    /** The default number of points in the poly line. */
+    private static final int DEFAULT_POINTS = 2000;
+
+    /** The number of nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    /** Hides the constructor for this utility class. */
+    private PaintComparison() {
+    }
+
+    /**
+     * Paints a random curve both ways and prints the average frame times.
+     * The optional arguments are the number of control points
+     * and the number of points in the poly line.
+     *
+     * @param args the number of control points and of poly line points
+     */
+    public static void main(final String[] args) {
+        int controlPoints = DEFAULT_CONTROL_POINTS;
+        int points = DEFAULT_POINTS;
+        if (args.length > 0) {
+            controlPoints = Integer.parseInt(args[0]);
+        }
+        if (args.length > 1) {
+            points = Integer.parseInt(args[1]);
+        }
+
+        Polyline polyline = createPolyline(controlPoints, points);
+        Path2D.Double path = createPath(polyline);
+        BufferedImage image =
+                new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+
+        Consumer<Graphics2D> perSegment = polyline::paint;
+        Consumer<Graphics2D> singlePath = g -> g.draw(path);
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            paintFrame(image, perSegment);
+            paintFrame(image, singlePath);
+        }
+        double segments = timeFrames(image, perSegment);
+        double single = timeFrames(image, singlePath);
+        PrintFormatting.print(
+                "Control points: " + controlPoints + ", points: " + points,
+                "Per segment: " + segments + " ms per frame",
+                "Single path: " + single + " ms per frame");
+    }
+
+    /**
+     * Creates the poly line of a curve with random control points.
+     *
+     * @param controlPoints the number of control points
+     * @param points        the number of points in the poly line
+     * @return the poly line of the curve
+     */
+    private static Polyline createPolyline(final int controlPoints,
+                                           final int points) {
+        Random random = new Random(controlPoints);
+        double[] x = new double[controlPoints];
+        double[] y = new double[controlPoints];
+        for (int i = 0; i < controlPoints; i++) {
+            x[i] = random.nextDouble() * SIZE;
+            y[i] = random.nextDouble() * SIZE;
+        }
+        Polyline polyline = new Polyline();
+        polyline.resize(points + 1);
+        BasisTable.get(controlPoints - 1, points)
+                .tessellate(x, y, polyline.getXs(), polyline.getYs());
+        return polyline;
+    }
+
+    /**
+     * Creates a single path through all points of the poly line.
+     *
+     * @param polyline the poly line to follow
+     * @return the path through the points
+     */
+    private static Path2D.Double createPath(final Polyline polyline) {
+        int size = polyline.getPointCount();
+        double[] xs = polyline.getXs();
+        double[] ys = polyline.getYs();
+        Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, size);
+        path.moveTo(xs[0], ys[0]);
+        for (int i = 1; i < size; i++) {
+            path.lineTo(xs[i], ys[i]);
+        }
+        return path;
+    }
+
+    /**
+     * Paints rounds of frames onto the image and measures them.
+     *
+     * @param image   the image to paint on
+     * @param painter paints one frame
+     * @return the average time of a frame in the fastest round,
+     * in milliseconds
+     */
+    private static double timeFrames(
+            final BufferedImage image,
+            final Consumer<Graphics2D> painter) {
+        long fastest = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < TIMED_FRAMES; i++) {
+                paintFrame(image, painter);
+            }
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest / NANOS_PER_MILLI / TIMED_FRAMES;
+    }
+
+    /**
+     * Clears the image and paints one frame onto it.
+     *
+     * @param image   the image to paint on
+     * @param painter paints the frame
+     */
+    private static void paintFrame(
+            final BufferedImage image,
+            final Consumer<Graphics2D> painter) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, SIZE, SIZE);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                    RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.BLACK);
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+}
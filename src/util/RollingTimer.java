@@ -0,0 +1,83 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent durations of some repeated work,
+ * so that percentiles of its recent timings can be read at any time.
+ * Recording a duration only writes it into a ring,
+ * so timing the work costs little more than reading the clock.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public final class RollingTimer {
+
+    /** The most recent durations, in nanoseconds. */
+    private final long[] durations;
+
+    /** The index of the ring that the next duration is written to. */
+    private int next;
+
+    /** The number of durations in the ring. */
+    private int size;
+
+    /**
+     * Creates a {@link RollingTimer} that keeps the given number of durations.
+     *
+     * @param window the number of most recent durations to keep
+     */
+    public RollingTimer(final int window) {
+        durations = new long[Math.max(window, 1)];
+    }
+
+    /**
+     * Records the time since the given start.
+     *
+     * @param start the time the work started, from {@link System#nanoTime()}
+     * @return the current time, so that the next piece of work can start
+     */
+    public long stop(final long start) {
+        long now = System.nanoTime();
+        record(now - start);
+        return now;
+    }
+
+    /**
+     * Records a duration, replacing the oldest one if the ring is full.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    public synchronized void record(final long nanos) {
+        durations[next] = nanos;
+        next = (next + 1) % durations.length;
+        size = Math.min(size + 1, durations.length);
+    }
+
+    /**
+     * Finds percentiles of the recent durations.
+     * A fraction of 0.5 gives the median and 1 gives the maximum.
+     *
+     * @param fractions the fractions, from 0 to 1, of the durations
+     *                  that are no longer than each result
+     * @return the durations, in nanoseconds, at the fractions,
+     * all 0 if nothing has been recorded
+     */
+    public long[] getPercentiles(final double... fractions) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(durations, size);
+        }
+        Arrays.sort(sorted);
+        long[] result = new long[fractions.length];
+        if (sorted.length == 0) {
+            return result;
+        }
+        for (int i = 0; i < fractions.length; i++) {
+            int rank = (int) Math.ceil(fractions[i] * sorted.length) - 1;
+            result[i] = sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,120 @@
+package components.bezier;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the measuring of distances along a curve by {@link ArcLength}.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public class ArcLengthTest {
+
+    /** The largest acceptable error, in pixels, of a measured length. */
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Creates an {@link ArcLength} for the curve of the given points.
+     *
+     * @param x the x coordinates of the control points
+     * @param y the y coordinates of the control points
+     * @return the measure of the curve, already updated
+     */
+    private static ArcLength measure(final double[] x, final double[] y) {
+        CurveEvaluator evaluator = CurveEvaluator.forName("de casteljau");
+        evaluator.setControlPoints(x, y);
+        ArcLength arcLength = new ArcLength(evaluator, 64, 1e-12);
+        arcLength.update();
+        return arcLength;
+    }
+
+    /** The length of a straight line is the distance between its ends. */
+    @Test
+    public void straightLineLength() {
+        ArcLength line = measure(new double[] {0, 300},
+                new double[] {0, 400});
+        assertEquals(500, line.getLength(), EPSILON);
+    }
+
+    /** Collinear control points out of order still give a straight line. */
+    @Test
+    public void unevenStraightLineLength() {
+        ArcLength line = measure(new double[] {0, 0, 120, 120},
+                new double[] {0, 0, 90, 90});
+        assertEquals(150, line.getLength(), EPSILON);
+    }
+
+    /** A distance is mapped to the u of the point at that distance. */
+    @Test
+    public void parameterAtInvertsLength() {
+        double[] x = {0, 0, 200, 200};
+        double[] y = {0, 0, 0, 0};
+        ArcLength line = measure(x, y);
+        CurveEvaluator evaluator = CurveEvaluator.forName("de casteljau");
+        evaluator.setControlPoints(x, y);
+        for (double s = 10; s < 200; s += 10) {
+            double u = line.parameterAt(s);
+            assertEquals(s, evaluator.calculatePoint(u).x, 1e-6);
+        }
+    }
+
+    /** Distances outside the curve are clamped to its ends. */
+    @Test
+    public void parameterAtClampsToEnds() {
+        ArcLength line = measure(new double[] {0, 100},
+                new double[] {0, 0});
+        assertEquals(0, line.parameterAt(-5), 0);
+        assertEquals(0, line.parameterAt(0), 0);
+        assertEquals(1, line.parameterAt(line.getLength()), 0);
+        assertEquals(1, line.parameterAt(500), 0);
+        assertEquals(0.25, line.parameterAt(25), EPSILON);
+    }
+
+    /** Shifting one control point gives the length of the moved curve. */
+    @Test
+    public void shiftMatchesNewMeasure() {
+        double[] x = {0, 100, 250, 300, 420, 500};
+        double[] y = {0, 200, -80, 150, 40, 0};
+        CurveEvaluator before = CurveEvaluator.forName("de casteljau");
+        before.setControlPoints(x, y);
+        ArcLength previous = new ArcLength(before, 64, 1e-12);
+        previous.update();
+
+        double[] movedX = x.clone();
+        double[] movedY = y.clone();
+        movedX[2] += 35;
+        movedY[2] -= 60;
+        CurveEvaluator after = CurveEvaluator.forName("de casteljau");
+        after.setControlPoints(movedX, movedY);
+        ArcLength shifted = new ArcLength(previous, after);
+        ArcLength measured = new ArcLength(after, 64, 1e-12);
+        assertEquals(measured.update(), shifted.shift(2, 35, -60), EPSILON);
+        assertEquals(measured.parameterAt(300), shifted.parameterAt(300),
+                EPSILON);
+    }
+
+    /** Updating the affected spans gives the length of the moved curve. */
+    @Test
+    public void updateRangeMatchesNewMeasure() {
+        double[] x = {0, 100, 250, 300, 420, 500, 610, 700};
+        double[] y = {0, 200, -80, 150, 40, 0, 90, 30};
+        BSplineEvaluator before = new BSplineEvaluator();
+        before.setControlPoints(x, y);
+        int spans = before.getSpanCount();
+        ArcLength previous = new ArcLength(before, spans * 8, 1e-12);
+        previous.update();
+
+        double[] movedY = y.clone();
+        movedY[4] += 120;
+        BSplineEvaluator after = new BSplineEvaluator();
+        after.setControlPoints(x, movedY);
+        ArcLength updated = new ArcLength(previous, after);
+        ArcLength measured = new ArcLength(after, spans * 8, 1e-12);
+        assertEquals(measured.update(),
+                updated.update(after.getFirstSpan(4) * 8,
+                        (after.getLastSpan(4) + 1) * 8), 0);
+    }
+
+}
@@ -0,0 +1,110 @@
+package components.bezier;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the local control of the curve of a {@link BSplineEvaluator}.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public class BSplineEvaluatorTest {
+
+    /** The number of intervals each span is split into. */
+    private static final int POINTS = 16;
+
+    /** The x coordinates of the control points. */
+    private static final double[] X = {0, 40, 90, 120, 200, 260, 300, 380,
+        420, 500};
+
+    /** The y coordinates of the control points. */
+    private static final double[] Y = {0, 80, -30, 60, 10, 90, -40, 20,
+        70, 0};
+
+    /**
+     * Tessellates every span of the curve of the given control points.
+     *
+     * @param evaluator the evaluator to use
+     * @param x         the x coordinates of the control points
+     * @param y         the y coordinates of the control points
+     * @return the x and y coordinates of the points of all spans
+     */
+    private static double[][] tessellate(final BSplineEvaluator evaluator,
+                                         final double[] x,
+                                         final double[] y) {
+        evaluator.setControlPoints(x, y);
+        int spans = evaluator.getSpanCount();
+        double[] outX = new double[spans * POINTS + 1];
+        double[] outY = new double[outX.length];
+        double[] outU = new double[outX.length];
+        for (int span = 0; span < spans; span++) {
+            evaluator.tessellateSpan(span, POINTS, outX, outY, outU);
+        }
+        return new double[][] {outX, outY};
+    }
+
+    /**
+     * Tells whether any point of the given span differs between two
+     * tessellations.
+     *
+     * @param before the points before the change
+     * @param after  the points after the change
+     * @param span   the index of the span
+     * @return true iff any point of the span moved
+     */
+    private static boolean spanChanged(final double[][] before,
+                                       final double[][] after,
+                                       final int span) {
+        for (int j = span * POINTS; j <= span * POINTS + POINTS; j++) {
+            if (before[0][j] != after[0][j] || before[1][j] != after[1][j]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The curve starts and ends on the first and last control points. */
+    @Test
+    public void endsOnControlPoints() {
+        double[][] points = tessellate(new BSplineEvaluator(), X, Y);
+        int last = points[0].length - 1;
+        assertEquals(X[0], points[0][0], 1e-9);
+        assertEquals(Y[0], points[1][0], 1e-9);
+        assertEquals(X[X.length - 1], points[0][last], 1e-9);
+        assertEquals(Y[Y.length - 1], points[1][last], 1e-9);
+    }
+
+    /** Moving one control point only changes the spans it affects. */
+    @Test
+    public void movingOnePointChangesOnlyItsSpans() {
+        BSplineEvaluator evaluator = new BSplineEvaluator();
+        double[][] before = tessellate(evaluator, X, Y);
+        for (int i = 0; i < X.length; i++) {
+            double[] movedY = Y.clone();
+            movedY[i] += 50;
+            double[][] after = tessellate(evaluator, X, movedY);
+            int first = evaluator.getFirstSpan(i);
+            int last = evaluator.getLastSpan(i);
+            assertTrue("point " + i, last - first + 1 <= 4);
+            for (int span = 0; span < evaluator.getSpanCount(); span++) {
+                boolean affected = first <= span && span <= last;
+                assertEquals("point " + i + ", span " + span, affected,
+                        spanChanged(before, after, span));
+            }
+        }
+    }
+
+    /** A control point in the middle affects exactly 4 spans. */
+    @Test
+    public void middlePointAffectsFourSpans() {
+        BSplineEvaluator evaluator = new BSplineEvaluator();
+        evaluator.setControlPoints(X, Y);
+        int middle = X.length / 2;
+        assertEquals(4, evaluator.getLastSpan(middle)
+                - evaluator.getFirstSpan(middle) + 1);
+    }
+
+}
@@ -0,0 +1,84 @@
+package components.bezier;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the binomial coefficients and Bernstein bases
+ * calculated by {@link Combinatorics}.
+ *
+ * @author 150009974
+ * @version 1.0
+ */
+public class CombinatoricsTest {
+
+    /** The values of u at which the Bernstein bases are checked. */
+    private static final double[] US = {0, 1e-3, 0.1, 0.37, 0.5, 0.9, 1};
+
+    /** Small binomial coefficients match Pascal's triangle. */
+    @Test
+    public void smallNChooseK() {
+        assertEquals(1, Combinatorics.nChooseK(0, 0));
+        assertEquals(1, Combinatorics.nChooseK(7, 0));
+        assertEquals(7, Combinatorics.nChooseK(7, 6));
+        assertEquals(35, Combinatorics.nChooseK(7, 3));
+        assertEquals(252, Combinatorics.nChooseK(10, 5));
+    }
+
+    /** A large binomial coefficient that fits in a long is exact. */
+    @Test
+    public void nChooseKIsExact() {
+        assertEquals(118264581564861424L, Combinatorics.nChooseK(60, 30));
+        assertEquals(7219428434016265740L, Combinatorics.nChooseK(66, 33));
+    }
+
+    /** A binomial coefficient that does not fit in a long throws. */
+    @Test(expected = ArithmeticException.class)
+    public void nChooseKOverflowThrows() {
+        Combinatorics.nChooseK(67, 33);
+    }
+
+    /** The double binomial agrees with the exact one. */
+    @Test
+    public void binomialMatchesNChooseK() {
+        for (int n = 0; n <= 60; n++) {
+            for (int k = 0; k <= n; k++) {
+                double exact = Combinatorics.nChooseK(n, k);
+                assertEquals(exact, Combinatorics.binomial(n, k),
+                        exact * 1e-15);
+            }
+        }
+    }
+
+    /** The Bernstein basis of degree 200 is a partition of unity. */
+    @Test
+    public void bernsteinBasisPartitionOfUnity() {
+        int n = 200;
+        double[] basis = new double[n + 1];
+        for (double u : US) {
+            Combinatorics.bernsteinBasis(n, u, basis);
+            double sum = 0;
+            for (double b : basis) {
+                sum += b;
+            }
+            assertEquals("sum at u = " + u, 1, sum, 1e-12);
+        }
+    }
+
+    /** The whole basis agrees with the coefficients one at a time. */
+    @Test
+    public void bernsteinBasisMatchesCoefficients() {
+        int n = 200;
+        double[] basis = new double[n + 1];
+        for (double u : US) {
+            Combinatorics.bernsteinBasis(n, u, basis);
+            for (int i = 0; i <= n; i++) {
+                double expected = Combinatorics.bernsteinCoefficient(n, i, u);
+                assertEquals("B(" + n + ", " + i + ", " + u + ")",
+                        expected, basis[i], 1e-12);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package components.bezier;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Evaluates a Bezier Curve with De Casteljau's algorithm,
+ * using the lanes of SIMD registers for different values of u.
+ * Each lane builds its own triangle, so the results are the same
+ * as those of the {@link DeCasteljauEvaluator},
+ * but as many values of u as there are lanes are evaluated at once.
+ * This needs the jdk.incubator.vector module,
+ * so it is kept in its own source root, vector,
+ * which is only compiled on top of src when that module is added.
+ * It is only created through {@link CurveEvaluator#forName(String)},
+ * which falls back to the {@link DeCasteljauEvaluator} without it.
+ *
+ * @author 150009974
+ * @version 1.1
+ */
+public final class VectorEvaluator extends HodographEvaluator {
+
+    /** The widest vectors of doubles supported by the processor. */
+    private static final VectorSpecies<Double> SPECIES =
+            DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    protected void evaluate(final double[] x, final double[] y,
+                            final double[] us,
+                            final double[] outX, final double[] outY) {
+        int n = x.length;
+        if (n == 0) {
+            for (int k = 0; k < us.length; k++) {
+                outX[k] = 0;
+                outY[k] = 0;
+            }
+            return;
+        }
+        int lanes = SPECIES.length();
+        // Element i of the triangle of lane l is at i * lanes + l.
+        double[] triangle = new double[n * lanes];
+        int vectorEnd = SPECIES.loopBound(us.length);
+        for (int k = 0; k < vectorEnd; k += lanes) {
+            DoubleVector u = DoubleVector.fromArray(SPECIES, us, k);
+            DoubleVector v = u.neg().add(1);
+            reduce(x, triangle, u, v).intoArray(outX, k);
+            reduce(y, triangle, u, v).intoArray(outY, k);
+        }
+
+        // The values that do not fill a vector are evaluated one by one.
+        double[] c = new double[n];
+        for (int k = vectorEnd; k < us.length; k++) {
+            outX[k] = reduce(x, c, us[k]);
+            outY[k] = reduce(y, c, us[k]);
+        }
+    }
+
+    /**
+     * Applies De Casteljau steps for a vector of values of u
+     * until one value per lane remains.
+     *
+     * @param c        the control coordinates
+     * @param triangle the working space, of (c.length * lanes) elements
+     * @param u        the values of u
+     * @param v        1 - u
+     * @return the values of the curve at u
+     */
+    private static DoubleVector reduce(final double[] c,
+                                       final double[] triangle,
+                                       final DoubleVector u,
+                                       final DoubleVector v) {
+        int lanes = SPECIES.length();
+        int last = c.length - 1;
+        for (int i = 0; i <= last; i++) {
+            DoubleVector.broadcast(SPECIES, c[i])
+                    .intoArray(triangle, i * lanes);
+        }
+        for (int r = 1; r <= last; r++) {
+            DoubleVector left = DoubleVector.fromArray(SPECIES, triangle, 0);
+            for (int i = 0; i <= last - r; i++) {
+                DoubleVector right = DoubleVector.fromArray(SPECIES,
+                        triangle, (i + 1) * lanes);
+                left.mul(v).add(right.mul(u)).intoArray(triangle, i * lanes);
+                left = right;
+            }
+        }
+        return DoubleVector.fromArray(SPECIES, triangle, 0);
+    }
+
+    /**
+     * Applies De Casteljau steps for a single value of u.
+     *
+     * @param c       the control coordinates
+     * @param scratch the working space, of c.length elements
+     * @param u       the proportion from 0 to 1
+     * @return the value of the curve at u
+     */
+    private static double reduce(final double[] c, final double[] scratch,
+                                 final double u) {
+        System.arraycopy(c, 0, scratch, 0, c.length);
+        double v = 1 - u;
+        int last = c.length - 1;
+        for (int r = 1; r <= last; r++) {
+            for (int i = 0; i <= last - r; i++) {
+                scratch[i] = v * scratch[i] + u * scratch[i + 1];
+            }
+        }
+        return scratch[0];
+    }
+
+}